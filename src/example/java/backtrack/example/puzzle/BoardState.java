@@ -0,0 +1,75 @@
+package backtrack.example.puzzle;
+
+import backtrack.MutableState;
+import backtrack.example.puzzle.core.Board;
+import backtrack.example.puzzle.core.Move;
+
+/**
+ * <p>
+ * A board of a {@link PuzzleSolver} modified in place by applying and undoing moves.
+ * </p>
+ * <p>
+ * The fingerprint of the state is the shallow Zobrist hash of the board, which is
+ * maintained incrementally by the board.
+ * </p>
+ */
+public class BoardState implements MutableState<Move> {
+
+	private final Board board;
+	private final PuzzleSolver solver;
+	
+	/**
+	 * Constructs a new state starting from a copy of a board.
+	 * 
+	 * @param board the start board
+	 * @param solver the solver defining the target
+	 */
+	public BoardState(Board board, PuzzleSolver solver) {
+		this.board = new Board(board);
+		this.solver = solver;
+	}
+	
+	public Board getBoard() {
+		return board;
+	}
+	
+	@Override
+	public long fingerprint() {
+		return board.shallowZobristHash();
+	}
+	
+	@Override
+	public int maxElementsCount() {
+		return board.maxMovesCount();
+	}
+	
+	@Override
+	public int elements(int[] elements) {
+		return board.moves(elements);
+	}
+	
+	@Override
+	public void apply(int element) {
+		board.applyUnchecked(element);
+	}
+	
+	@Override
+	public void undo(int element) {
+		board.undo(element);
+	}
+	
+	@Override
+	public boolean isSolution() {
+		return board.equals(solver.getTarget(), solver.getTargetPieceId());
+	}
+	
+	@Override
+	public Move element(int element) {
+		return Move.decode(element);
+	}
+	
+	@Override
+	public String toString() {
+		return board.toString();
+	}
+}
@@ -1,34 +1,61 @@
 package backtrack.example.puzzle;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import backtrack.CompactTuple;
+import backtrack.LazyTuple;
+import backtrack.ReversibleTuple;
+import backtrack.SymmetricTuple;
 import backtrack.Tuple;
 import backtrack.example.puzzle.core.Board;
 import backtrack.example.puzzle.core.Move;
+import backtrack.example.puzzle.core.Piece;
 
-public class BoardTuple implements Tuple<Move> {
+public class BoardTuple implements ReversibleTuple<Move>, LazyTuple<Move>, SymmetricTuple<Move>,
+		CompactTuple<Move> {
+	
+	private static final int NO_MOVE = CompactTuple.NO_ELEMENT;
 	
 	private final Board board;
-	private final BoardTuple previousTuple;
-	private final Move lastMove;
+	private final long[] key;
+	private final long shallowZobristHash;
+	private BoardTuple previousTuple;
+	private final int lastMove;
 	private final PuzzleSolver solver;
 	private int visitId;
 	private final int size;
 	private boolean partOfSolution;
 	
 	public BoardTuple(Board board, PuzzleSolver solver) {
-		this(board, null, null, solver);
+		this(board, null, NO_MOVE, solver);
 	}
 	
-	private BoardTuple(Board board, BoardTuple previousTuple, Move lastMove,
+	private BoardTuple(Board board, BoardTuple previousTuple, int lastMove,
 			PuzzleSolver solver) {
 		this.board = board;
+		key = board.encodeShallow();
+		shallowZobristHash = board.shallowZobristHash();
 		this.previousTuple = previousTuple;
 		this.lastMove = lastMove;
 		this.solver = solver;
 		visitId = -1;
-		size = lastMove == null ? 0 : previousTuple.size() + 1;
+		size = lastMove == NO_MOVE ? 0 : previousTuple.size() + 1;
+	}
+	
+	/**
+	 * Constructs a tuple identified by the mirror image of the board of another tuple.
+	 */
+	private BoardTuple(BoardTuple tuple, long[] key, long shallowZobristHash) {
+		board = tuple.board;
+		this.key = key;
+		this.shallowZobristHash = shallowZobristHash;
+		previousTuple = tuple.previousTuple;
+		lastMove = tuple.lastMove;
+		solver = tuple.solver;
+		visitId = tuple.visitId;
+		size = tuple.size;
 	}
 	
 	public Board getBoard() {
@@ -42,7 +69,7 @@ public class BoardTuple implements Tuple<Move> {
 	
 	@Override
 	public Move lastElement() {
-		return lastMove;
+		return lastMove == NO_MOVE ? null : Move.decode(lastMove);
 	}
 	
 	@Override
@@ -50,21 +77,119 @@ public class BoardTuple implements Tuple<Move> {
 		return previousTuple;
 	}
 	
+	@Override
+	public int lastElementCode() {
+		return lastMove;
+	}
+	
+	@Override
+	public Move element(int code) {
+		return Move.decode(code);
+	}
+	
+	@Override
+	public void detach() {
+		previousTuple = null;
+	}
+	
 	@Override
 	public List<Tuple<Move>> next() {
-		List<Tuple<Move>> result = new ArrayList<Tuple<Move>>();
-		for (Move move : board.moves()) {
-			result.add(next(move));
+		int[] moves = new int[board.maxMovesCount()];
+		int count = board.moves(moves);
+		List<Tuple<Move>> result = new ArrayList<Tuple<Move>>(count);
+		for (int i = 0; i < count; i++) {
+			result.add(next(moves[i]));
 		}
 		return result;
 	}
 	
-	private BoardTuple next(Move move) {
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>
+	 * The fingerprint of an extension is computed from the shallow encoding of this
+	 * board, into a buffer shared by all the extensions.
+	 * </p>
+	 */
+	@Override
+	public Expansion<Move> expand() {
+		int[] moves = new int[board.maxMovesCount()];
+		int count = board.moves(moves);
+		return new BoardExpansion(moves, count);
+	}
+	
+	private BoardTuple next(int move) {
 		Board next = new Board(board);
-		next.apply(move);
+		next.applyUnchecked(move);
 		return new BoardTuple(next, this, move, solver);
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>
+	 * As sliding moves are reversible, the predecessors of a board are the boards
+	 * reachable from it with a single move.
+	 * </p>
+	 */
+	@Override
+	public List<Tuple<Move>> predecessors() {
+		int[] moves = new int[board.maxMovesCount()];
+		int count = board.moves(moves);
+		List<Tuple<Move>> result = new ArrayList<Tuple<Move>>(count);
+		for (int i = 0; i < count; i++) {
+			Board previous = new Board(board);
+			previous.applyUnchecked(moves[i]);
+			result.add(new BoardTuple(previous, this, Move.inverse(moves[i]), solver));
+		}
+		return result;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>
+	 * The piece of the move is mapped to the piece of this board at the same position.
+	 * </p>
+	 */
+	@Override
+	public Move translate(Move move, Tuple<Move> tuple) {
+		Board other = ((BoardTuple) tuple).board;
+		Piece piece = board.pieceAt(other.positionOf(other.getPiece(move.getPieceId())));
+		return new Move(piece.getId(), move.getDirection(), move.getCells());
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>
+	 * If the target of the puzzle is mirror-symmetric, a board and its mirror image
+	 * are represented by the one with the lowest shallow encoding. Otherwise, this
+	 * tuple is returned.
+	 * </p>
+	 * 
+	 * @see PuzzleSolver#isTargetMirrorSymmetric()
+	 */
+	@Override
+	public Tuple<Move> canonicalize() {
+		Tuple<Move> result = this;
+		if (solver.isTargetMirrorSymmetric()) {
+			long[] mirrored = board.encodeShallowMirrored();
+			if (compare(mirrored, key) < 0) {
+				result = new BoardTuple(this, mirrored, board.mirroredShallowZobristHash());
+			}
+		}
+		return result;
+	}
+	
+	private static int compare(long[] a, long[] b) {
+		int result = 0;
+		for (int i = 0; i < a.length && result == 0; i++) {
+			result = Long.compare(a[i], b[i]);
+		}
+		return result;
+	}
+	
 	@Override
 	public int getVisitId() {
 		return visitId;
@@ -90,9 +215,23 @@ public class BoardTuple implements Tuple<Move> {
 		this.partOfSolution = partOfSolution;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>
+	 * The fingerprint is the shallow encoding of the board when it fits in a single
+	 * <code>long</code>, in which case it identifies the board exactly. Otherwise it
+	 * is the shallow Zobrist hash of the board.
+	 * </p>
+	 */
+	@Override
+	public long fingerprint() {
+		return key.length == 1 ? key[0] : shallowZobristHash;
+	}
+	
 	@Override
 	public int hashCode() {
-		return board.shallowHashCode();
+		return (int) (shallowZobristHash ^ (shallowZobristHash >>> 32));
 	}
 	
 	@Override
@@ -100,7 +239,7 @@ public class BoardTuple implements Tuple<Move> {
 		boolean result = false;
 		if (obj != null && obj instanceof BoardTuple) {
 			BoardTuple t = (BoardTuple) obj;
-			result = board.equalsShallowly(t.board);
+			result = Arrays.equals(key, t.key);
 		}
 		return result;
 	}
@@ -122,11 +261,40 @@ public class BoardTuple implements Tuple<Move> {
 	
 	@Override
 	public String getGraphEdgeLabel() {
-		return lastMove == null ? null : lastMove.toString();
+		return lastMove == NO_MOVE ? null : Move.decode(lastMove).toString();
 	}
 	
 	@Override
 	public String toString() {
 		return board.toString();
 	}
+	
+	private class BoardExpansion implements Expansion<Move> {
+		
+		private final int[] moves;
+		private final int size;
+		private final long[] encoding;
+		
+		private BoardExpansion(int[] moves, int size) {
+			this.moves = moves;
+			this.size = size;
+			encoding = key.length == 1 ? new long[1] : null;
+		}
+		
+		@Override
+		public int size() {
+			return size;
+		}
+		
+		@Override
+		public long fingerprint(int index) {
+			int move = moves[index];
+			return encoding != null ? board.encodeShallow(key, move, encoding)[0] : board.shallowZobristHash(move);
+		}
+		
+		@Override
+		public Tuple<Move> get(int index) {
+			return next(moves[index]);
+		}
+	}
 }
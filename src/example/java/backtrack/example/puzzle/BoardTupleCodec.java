@@ -0,0 +1,56 @@
+package backtrack.example.puzzle;
+
+import backtrack.TupleCodec;
+import backtrack.example.puzzle.core.Board;
+import backtrack.example.puzzle.core.Move;
+import backtrack.example.puzzle.core.Position;
+
+/**
+ * <p>
+ * Encodes the boards of a puzzle as their packed shallow encodings, followed by the
+ * cell of the target piece.
+ * </p>
+ * <p>
+ * Decoded tuples are boards of the puzzle without previous tuples. As the shallow
+ * encoding does not retain the IDs of the pieces, a decoded board is only shallowly
+ * equal to the encoded one, except for the target piece, which is placed at its
+ * encoded cell so that solutions are recognized. Shallowly equal boards whose target
+ * pieces are at different cells thus have different records.
+ * </p>
+ * 
+ * @see backtrack.example.puzzle.core.Board#encodeShallow()
+ */
+public class BoardTupleCodec implements TupleCodec<BoardTuple, Move> {
+
+	private final PuzzleSolver solver;
+	
+	/**
+	 * Constructs a codec for the boards reachable from the start board of a puzzle.
+	 * 
+	 * @param solver the solver of the puzzle
+	 */
+	public BoardTupleCodec(PuzzleSolver solver) {
+		this.solver = solver;
+	}
+	
+	@Override
+	public int words() {
+		return solver.getStart().encodeShallow().length + 1;
+	}
+	
+	@Override
+	public void encode(BoardTuple tuple, long[] buffer, int offset) {
+		Board board = tuple.getBoard();
+		long[] key = board.encodeShallow();
+		System.arraycopy(key, 0, buffer, offset, key.length);
+		Position position = board.positionOf(board.getPiece(solver.getTargetPieceId()));
+		buffer[offset + key.length] = position.getRow() * board.getCols() + position.getCol();
+	}
+	
+	@Override
+	public BoardTuple decode(long[] buffer, int offset) {
+		Board start = solver.getStart();
+		int cell = (int) buffer[offset + words() - 1];
+		return new BoardTuple(start.decodeShallow(buffer, offset, solver.getTargetPieceId(), cell), solver);
+	}
+}
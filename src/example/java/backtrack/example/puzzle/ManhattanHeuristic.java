@@ -0,0 +1,59 @@
+package backtrack.example.puzzle;
+
+import backtrack.Heuristic;
+import backtrack.example.puzzle.core.Board;
+import backtrack.example.puzzle.core.Piece;
+import backtrack.example.puzzle.core.Position;
+
+/**
+ * <p>
+ * A heuristic estimating the number of moves needed to bring the target piece of a
+ * {@link PuzzleSolver} to its target position.
+ * </p>
+ * <p>
+ * As a single move can slide a piece by more than one cell, the Manhattan distance
+ * of the target piece is scaled along each axis by the maximum number of cells the
+ * piece can slide in one move, i.e. the number of empty cells divided by the size
+ * of the side of the piece perpendicular to the move. This keeps the heuristic
+ * admissible and consistent. On boards with few empty cells, such as the Quzzle,
+ * it is the Manhattan distance itself.
+ * </p>
+ */
+public class ManhattanHeuristic implements Heuristic<BoardTuple> {
+
+	private final PuzzleSolver solver;
+	
+	public ManhattanHeuristic(PuzzleSolver solver) {
+		this.solver = solver;
+	}
+	
+	@Override
+	public int estimate(BoardTuple tuple) {
+		Board board = tuple.getBoard();
+		Board target = solver.getTarget();
+		int pieceId = solver.getTargetPieceId();
+		Piece piece = board.getPiece(pieceId);
+		Position position = board.positionOf(piece);
+		Position targetPosition = target.positionOf(target.getPiece(pieceId));
+		int emptyCells = emptyCellsCount(board);
+		int maxRows = Math.max(1, emptyCells / piece.getWidth());
+		int maxCols = Math.max(1, emptyCells / piece.getHeight());
+		int rows = Math.abs(position.getRow() - targetPosition.getRow());
+		int cols = Math.abs(position.getCol() - targetPosition.getCol());
+		return (rows + maxRows - 1) / maxRows + (cols + maxCols - 1) / maxCols;
+	}
+	
+	private static int emptyCellsCount(Board board) {
+		int result = board.getRows() * board.getCols();
+		for (int i = 0; i < board.getPiecesCount(); i++) {
+			Piece piece = board.getPiece(i);
+			result -= piece.getHeight() * piece.getWidth();
+		}
+		return result;
+	}
+	
+	@Override
+	public String toString() {
+		return "ManhattanHeuristic";
+	}
+}
@@ -0,0 +1,322 @@
+package backtrack.example.puzzle;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+
+import backtrack.example.puzzle.core.Board;
+import backtrack.example.puzzle.core.Move;
+import backtrack.example.puzzle.core.Piece;
+import backtrack.example.puzzle.core.Position;
+
+/**
+ * <p>
+ * The exact number of moves needed to bring the target piece of a puzzle to its
+ * target position, on an abstraction of the board keeping only the target piece and
+ * a chosen subset of the other pieces, the remaining pieces being removed.
+ * </p>
+ * <p>
+ * As any move of the board is also a move of the abstraction, or leaves the
+ * abstraction unchanged if it moves a removed piece, the distance on the abstraction
+ * never exceeds the distance on the board, and decreases by at most one from a board
+ * to the next. Hence it is an admissible and consistent estimate, as used by the
+ * {@link PatternDatabaseHeuristic}.
+ * </p>
+ * <p>
+ * The distances are computed by a breadth-first traversal of the abstraction from all
+ * the states where the target piece is at its target position, which is the
+ * backward traversal since moves are reversible. Each state is indexed by the
+ * positions of its pieces in mixed radix, the radix of a piece being its number of
+ * possible positions, and its distance is stored in one byte. Distances of
+ * <code>255</code> moves or more are stored as <code>254</code>, which keeps them
+ * admissible.
+ * </p>
+ * <p>
+ * A database can be written to a file and loaded by mapping the file in memory, so
+ * that it is shared between processes and only the pages in use are read.
+ * </p>
+ */
+public class PatternDatabase {
+	
+	/**
+	 * The distance of states from which the target position cannot be reached.
+	 */
+	public static final int UNREACHABLE = 0xFF;
+	
+	private static final int MAX_DISTANCE = 0xFE;
+	private static final int MAGIC = 0x50444231;
+	
+	private final int rows;
+	private final int cols;
+	private final Position targetPosition;
+	private final int[] pieceIds;
+	private final Piece[] pieces;
+	private final int[] weights;
+	private final int size;
+	private final ByteBuffer distances;
+	
+	private PatternDatabase(int rows, int cols, Position targetPosition, int[] pieceIds, Piece[] pieces) {
+		this.rows = rows;
+		this.cols = cols;
+		this.targetPosition = targetPosition;
+		this.pieceIds = pieceIds;
+		this.pieces = pieces;
+		weights = new int[pieces.length];
+		long size = 1;
+		for (int i = 0; i < pieces.length; i++) {
+			weights[i] = (int) size;
+			size *= (rows - pieces[i].getHeight() + 1) * (cols - pieces[i].getWidth() + 1);
+			if (size > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("Too many states in the abstraction");
+			}
+		}
+		this.size = (int) size;
+		distances = null;
+	}
+	
+	private PatternDatabase(PatternDatabase database, ByteBuffer distances) {
+		rows = database.rows;
+		cols = database.cols;
+		targetPosition = database.targetPosition;
+		pieceIds = database.pieceIds;
+		pieces = database.pieces;
+		weights = database.weights;
+		size = database.size;
+		this.distances = distances;
+	}
+	
+	/**
+	 * Builds the pattern database of a puzzle.
+	 * 
+	 * @param solver the solver of the puzzle
+	 * @param pieceIds the IDs of the pieces kept in the abstraction, other than the
+	 * target piece
+	 * @return the pattern database
+	 * @throws IllegalArgumentException if a piece ID is invalid or repeated, or if the
+	 * abstraction has more than {@link Integer#MAX_VALUE} states
+	 */
+	public static PatternDatabase build(PuzzleSolver solver, int... pieceIds) {
+		Board start = solver.getStart();
+		Board target = solver.getTarget();
+		int targetPieceId = solver.getTargetPieceId();
+		int[] ids = new int[pieceIds.length + 1];
+		ids[0] = targetPieceId;
+		System.arraycopy(pieceIds, 0, ids, 1, pieceIds.length);
+		Piece[] pieces = new Piece[ids.length];
+		for (int i = 0; i < ids.length; i++) {
+			if (ids[i] < 0 || ids[i] >= start.getPiecesCount() || indexOf(ids, ids[i]) < i) {
+				throw new IllegalArgumentException("Invalid piece ID " + ids[i]);
+			}
+			Piece piece = start.getPiece(ids[i]);
+			pieces[i] = new Piece(i, piece.getHeight(), piece.getWidth());
+		}
+		Position targetPosition = target.positionOf(target.getPiece(targetPieceId));
+		PatternDatabase abstraction = new PatternDatabase(start.getRows(), start.getCols(), targetPosition, ids, pieces);
+		return new PatternDatabase(abstraction, ByteBuffer.wrap(abstraction.traverse()));
+	}
+	
+	private static int indexOf(int[] values, int value) {
+		int result = -1;
+		for (int i = 0; i < values.length && result == -1; i++) {
+			if (values[i] == value) {
+				result = i;
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Computes the distances of all the states of the abstraction.
+	 */
+	private byte[] traverse() {
+		byte[] result = new byte[size];
+		Arrays.fill(result, (byte) UNREACHABLE);
+		int[] queue = new int[size];
+		int head = 0;
+		int tail = 0;
+		Position[] positions = new Position[pieces.length];
+		// The states where the target piece is at its target position
+		int targetDigit = digit(0, targetPosition);
+		int targetRadix = weights.length > 1 ? weights[1] : size;
+		for (int index = targetDigit; index < size; index += targetRadix) {
+			if (decode(index, positions)) {
+				result[index] = 0;
+				queue[tail++] = index;
+			}
+		}
+		int[] moves = null;
+		while (head < tail) {
+			int index = queue[head++];
+			int distance = Math.min((result[index] & 0xFF) + 1, MAX_DISTANCE);
+			decode(index, positions);
+			Board board = new Board(rows, cols, pieces.length);
+			for (int i = 0; i < pieces.length; i++) {
+				board.place(pieces[i], positions[i]);
+			}
+			if (moves == null) {
+				moves = new int[board.maxMovesCount()];
+			}
+			int count = board.moves(moves);
+			for (int i = 0; i < count; i++) {
+				int pieceIndex = Move.pieceId(moves[i]);
+				board.applyUnchecked(moves[i]);
+				int next = index + (digit(pieceIndex, board.positionOf(pieces[pieceIndex]))
+						- digit(pieceIndex, positions[pieceIndex])) * weights[pieceIndex];
+				board.undo(moves[i]);
+				if (result[next] == (byte) UNREACHABLE) {
+					result[next] = (byte) distance;
+					queue[tail++] = next;
+				}
+			}
+		}
+		return result;
+	}
+	
+	private int digit(int pieceIndex, Position position) {
+		return position.getRow() * (cols - pieces[pieceIndex].getWidth() + 1) + position.getCol();
+	}
+	
+	/**
+	 * Decodes the positions of the pieces of a state.
+	 * 
+	 * @return <code>true</code> if the pieces do not overlap
+	 */
+	private boolean decode(int index, Position[] positions) {
+		boolean result = true;
+		for (int i = pieces.length - 1; i >= 0; i--) {
+			int anchorCols = cols - pieces[i].getWidth() + 1;
+			int digit = index / weights[i];
+			index -= digit * weights[i];
+			positions[i] = new Position(digit / anchorCols, digit % anchorCols);
+		}
+		for (int i = 0; i < pieces.length && result; i++) {
+			for (int j = i + 1; j < pieces.length && result; j++) {
+				result = !overlap(pieces[i], positions[i], pieces[j], positions[j]);
+			}
+		}
+		return result;
+	}
+	
+	private static boolean overlap(Piece p1, Position q1, Piece p2, Position q2) {
+		return q1.getRow() < q2.getRow() + p2.getHeight() && q2.getRow() < q1.getRow() + p1.getHeight()
+				&& q1.getCol() < q2.getCol() + p2.getWidth() && q2.getCol() < q1.getCol() + p1.getWidth();
+	}
+	
+	/**
+	 * Returns the distance of a board to the target position, on the abstraction.
+	 * 
+	 * @param board a board of the puzzle
+	 * @return the distance of the board, or {@link #UNREACHABLE}
+	 */
+	public int distance(Board board) {
+		int index = 0;
+		for (int i = 0; i < pieces.length; i++) {
+			index += digit(i, board.positionOf(board.getPiece(pieceIds[i]))) * weights[i];
+		}
+		return distances.get(index) & 0xFF;
+	}
+	
+	/**
+	 * Indicates whether this database was built for a puzzle, i.e. whether the puzzle
+	 * has the same dimensions, target position and pieces.
+	 * 
+	 * @param solver the solver of the puzzle
+	 * @return <code>true</code> if this database was built for the puzzle
+	 */
+	public boolean matches(PuzzleSolver solver) {
+		Board start = solver.getStart();
+		Board target = solver.getTarget();
+		boolean result = start.getRows() == rows && start.getCols() == cols
+				&& solver.getTargetPieceId() == pieceIds[0]
+				&& targetPosition.equals(target.positionOf(target.getPiece(pieceIds[0])));
+		for (int i = 0; i < pieces.length && result; i++) {
+			result = pieceIds[i] < start.getPiecesCount() && pieces[i].equals(start.getPiece(pieceIds[i]));
+		}
+		return result;
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Returns a description of the abstraction of this database, which determines its
+	 * distances.
+	 */
+	@Override
+	public String toString() {
+		return "PatternDatabase(" + rows + "x" + cols + ", " + targetPosition + ", " +
+				Arrays.toString(pieceIds) + ", " + Arrays.toString(pieces) + ")";
+	}
+	
+	/**
+	 * Writes this database to a file.
+	 * 
+	 * @param file the file
+	 * @throws IOException if the file cannot be written
+	 */
+	public void write(File file) throws IOException {
+		DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+		try {
+			output.writeInt(MAGIC);
+			output.writeInt(rows);
+			output.writeInt(cols);
+			output.writeInt(targetPosition.getRow());
+			output.writeInt(targetPosition.getCol());
+			output.writeInt(pieces.length);
+			for (int i = 0; i < pieces.length; i++) {
+				output.writeInt(pieceIds[i]);
+				output.writeInt(pieces[i].getHeight());
+				output.writeInt(pieces[i].getWidth());
+			}
+			for (int i = 0; i < size; i++) {
+				output.writeByte(distances.get(i));
+			}
+		} finally {
+			output.close();
+		}
+	}
+	
+	/**
+	 * Loads a database written to a file, by mapping the file in memory.
+	 * 
+	 * @param file the file
+	 * @return the database
+	 * @throws IOException if the file cannot be read
+	 * @throws IllegalArgumentException if the file does not contain a database
+	 */
+	public static PatternDatabase load(File file) throws IOException {
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+		try {
+			FileChannel channel = randomAccessFile.getChannel();
+			ByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.remaining() < 24 || buffer.getInt() != MAGIC) {
+				throw new IllegalArgumentException("Not a pattern database: " + file);
+			}
+			int rows = buffer.getInt();
+			int cols = buffer.getInt();
+			Position targetPosition = new Position(buffer.getInt(), buffer.getInt());
+			int piecesCount = buffer.getInt();
+			int[] pieceIds = new int[piecesCount];
+			Piece[] pieces = new Piece[piecesCount];
+			for (int i = 0; i < piecesCount; i++) {
+				pieceIds[i] = buffer.getInt();
+				pieces[i] = new Piece(i, buffer.getInt(), buffer.getInt());
+			}
+			PatternDatabase abstraction = new PatternDatabase(rows, cols, targetPosition, pieceIds, pieces);
+			if (buffer.remaining() != abstraction.size) {
+				throw new IllegalArgumentException("Truncated pattern database: " + file);
+			}
+			return new PatternDatabase(abstraction, buffer.slice());
+		} finally {
+			randomAccessFile.close();
+		}
+	}
+}
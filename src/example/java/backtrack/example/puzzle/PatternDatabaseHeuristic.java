@@ -0,0 +1,63 @@
+package backtrack.example.puzzle;
+
+import java.util.Arrays;
+
+import backtrack.Heuristic;
+
+/**
+ * <p>
+ * A heuristic estimating the number of moves needed to bring the target piece of a
+ * {@link PuzzleSolver} to its target position as the largest distance given by a
+ * set of {@link PatternDatabase pattern databases}. The maximum of admissible and
+ * consistent estimates is admissible and consistent.
+ * </p>
+ * <p>
+ * Boards from which the target position cannot be reached are estimated at
+ * {@link #UNREACHABLE}, small enough for the size of a tuple to be added to it
+ * without overflow. Such boards are not discarded: an A* search keeps them queued
+ * and an iterative-deepening search prunes them at each iteration, so they are only
+ * expanded once every board with a smaller cost has been, which happens when the
+ * puzzle has no solution.
+ * </p>
+ */
+public class PatternDatabaseHeuristic implements Heuristic<BoardTuple> {
+	
+	public static final int UNREACHABLE = Integer.MAX_VALUE / 2;
+	
+	private final PatternDatabase[] databases;
+	
+	/**
+	 * Creates a heuristic for a puzzle.
+	 * 
+	 * @param solver the solver of the puzzle
+	 * @param databases the pattern databases of the puzzle
+	 * @throws IllegalArgumentException if a database was not built for the puzzle
+	 */
+	public PatternDatabaseHeuristic(PuzzleSolver solver, PatternDatabase... databases) {
+		for (PatternDatabase database : databases) {
+			if (!database.matches(solver)) {
+				throw new IllegalArgumentException("Pattern database not built for the puzzle");
+			}
+		}
+		this.databases = databases;
+	}
+	
+	@Override
+	public int estimate(BoardTuple tuple) {
+		int result = 0;
+		for (PatternDatabase database : databases) {
+			int distance = database.distance(tuple.getBoard());
+			if (distance == PatternDatabase.UNREACHABLE) {
+				result = UNREACHABLE;
+			} else if (distance > result) {
+				result = distance;
+			}
+		}
+		return result;
+	}
+	
+	@Override
+	public String toString() {
+		return "PatternDatabaseHeuristic" + Arrays.toString(databases);
+	}
+}
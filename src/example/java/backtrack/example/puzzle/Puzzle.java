@@ -0,0 +1,34 @@
+package backtrack.example.puzzle;
+
+import backtrack.example.puzzle.core.Board;
+
+/**
+ * An instance of the puzzle: a start board, and a target board giving the position
+ * of the target piece.
+ * 
+ * @see PuzzleSolver
+ */
+public class Puzzle {
+	
+	private final Board start;
+	private final Board target;
+	private final int targetPieceId;
+	
+	public Puzzle(Board start, Board target, int targetPieceId) {
+		this.start = start;
+		this.target = target;
+		this.targetPieceId = targetPieceId;
+	}
+	
+	public Board getStart() {
+		return start;
+	}
+	
+	public Board getTarget() {
+		return target;
+	}
+	
+	public int getTargetPieceId() {
+		return targetPieceId;
+	}
+}
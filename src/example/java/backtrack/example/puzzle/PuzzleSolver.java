@@ -3,9 +3,17 @@ package backtrack.example.puzzle;
 import java.util.ArrayList;
 import java.util.List;
 
+import backtrack.AStarBacktracker;
 import backtrack.Backtracker;
+import backtrack.BidirectionalBfsBacktracker;
+import backtrack.IdaStarBacktracker;
+import backtrack.IddfsBacktracker;
+import backtrack.SearchBudget;
+import backtrack.SearchResult;
+import backtrack.Termination;
 import backtrack.example.puzzle.core.Board;
 import backtrack.example.puzzle.core.Move;
+import backtrack.example.puzzle.core.Piece;
 
 public class PuzzleSolver {
 
@@ -13,6 +21,7 @@ public class PuzzleSolver {
 	private Board target;
 	private int targetPieceId;
 	private Backtracker<BoardTuple, Move> backtracker;
+	private SolutionCache solutionCache;
 	
 	public Board getStart() {
 		return start;
@@ -38,6 +47,20 @@ public class PuzzleSolver {
 		this.targetPieceId = targetPieceId;
 	}
 	
+	/**
+	 * Indicates whether the target is invariant under the left to right reflection of
+	 * the board, i.e. whether the target piece is placed on the vertical axis of the
+	 * target board. In this case, a board and its mirror image are equally far from
+	 * the target.
+	 * 
+	 * @return <code>true</code> if the target is mirror-symmetric, <code>false</code> otherwise
+	 */
+	public boolean isTargetMirrorSymmetric() {
+		Piece piece = target.getPiece(targetPieceId);
+		int col = target.positionOf(piece).getCol();
+		return col == target.getCols() - col - piece.getWidth();
+	}
+	
 	public void setBacktracker(Backtracker<BoardTuple, Move> backtracker) {
 		this.backtracker = backtracker;
 	}
@@ -46,10 +69,123 @@ public class PuzzleSolver {
 		return backtracker;
 	}
 	
+	/**
+	 * Sets the cache of the solutions. When a solution is found in the cache, the
+	 * backtracker is not run, and its state is left unchanged. Solutions are cached
+	 * along with the strategy that found them, so that a solution is only returned
+	 * for the same strategy: the class of the backtracker and its settings that affect
+	 * the solutions, including its heuristic, described by its
+	 * {@link Object#toString() string representation}. Only solutions are cached,
+	 * not the computations that ended without one. By default, there is no cache.
+	 * 
+	 * @param solutionCache the cache of the solutions, or <code>null</code>
+	 */
+	public void setSolutionCache(SolutionCache solutionCache) {
+		this.solutionCache = solutionCache;
+	}
+	
+	public SolutionCache getSolutionCache() {
+		return solutionCache;
+	}
+	
+	/**
+	 * <p>
+	 * Solves the puzzle with the configured backtracker.
+	 * </p>
+	 * <p>
+	 * If the backtracker is a {@link BidirectionalBfsBacktracker}, the target board is
+	 * used as its goal when it contains all the pieces of the start board. Otherwise,
+	 * the target only constrains the target piece, so there is no single goal board to
+	 * search backwards from, and the backtracker runs a plain breadth-first search.
+	 * </p>
+	 * 
+	 * @return the moves solving the puzzle, or <code>null</code> if no solution was found
+	 */
 	public List<Move> solve() {
+		List<Move> result = cachedSolution();
+		if (result == null) {
+			prepare();
+			result = backtracker.solve();
+			cache(result);
+		}
+		return result;
+	}
+	
+	/**
+	 * Solves the puzzle with the configured backtracker within a budget.
+	 * 
+	 * @param budget the budget of the computation
+	 * @return the outcome of the computation
+	 * @see Backtracker#solve(SearchBudget)
+	 */
+	public SearchResult<Move> solve(SearchBudget budget) {
+		SearchResult<Move> result;
+		List<Move> solution = cachedSolution();
+		if (solution != null) {
+			result = new SearchResult<Move>(solution, Termination.SOLVED, 0, 0, 0, 0, 0, 0);
+		} else {
+			prepare();
+			result = backtracker.solve(budget);
+			if (result.getTermination() == Termination.SOLVED) {
+				cache(result.getPath());
+			}
+		}
+		return result;
+	}
+	
+	private List<Move> cachedSolution() {
+		return solutionCache != null ? solutionCache.get(start, target, targetPieceId, strategy()) : null;
+	}
+	
+	private void cache(List<Move> solution) {
+		if (solutionCache != null && solution != null) {
+			solutionCache.put(start, target, targetPieceId, strategy(), solution);
+		}
+	}
+	
+	/**
+	 * Returns a description of the class of the backtracker and of its settings that
+	 * affect the solutions.
+	 */
+	private String strategy() {
+		StringBuilder builder = new StringBuilder(backtracker.getClass().getName());
+		builder.append(";maxVisits=").append(backtracker.getMaxVisits());
+		builder.append(";visitedSet=").append(backtracker.getVisitedSet().getClass().getName());
+		builder.append(";symmetryReduction=").append(backtracker.isSymmetryReduction());
+		if (backtracker instanceof IddfsBacktracker) {
+			IddfsBacktracker<BoardTuple, Move> iddfs = (IddfsBacktracker<BoardTuple, Move>) backtracker;
+			builder.append(";maxDepth=").append(iddfs.getMaxDepth());
+			builder.append(";transpositionTableCapacity=").append(iddfs.getTranspositionTableCapacity());
+		}
+		if (backtracker instanceof IdaStarBacktracker) {
+			builder.append(";heuristic=").append(((IdaStarBacktracker<BoardTuple, Move>) backtracker).getHeuristic());
+		} else if (backtracker instanceof AStarBacktracker) {
+			builder.append(";heuristic=").append(((AStarBacktracker<BoardTuple, Move>) backtracker).getHeuristic());
+		} else if (backtracker instanceof BidirectionalBfsBacktracker) {
+			builder.append(";goal=").append(isTargetComplete());
+		}
+		return builder.toString();
+	}
+	
+	private void prepare() {
 		BoardTuple startTuple = new BoardTuple(start, this);
 		backtracker.setStart(startTuple);
-		return backtracker.solve();
+		if (backtracker instanceof BidirectionalBfsBacktracker) {
+			((BidirectionalBfsBacktracker<BoardTuple, Move>) backtracker).setGoal(
+					isTargetComplete() ? new BoardTuple(target, this) : null);
+		}
+	}
+	
+	/**
+	 * Indicates whether the target board contains all the pieces of the start board,
+	 * with the same shapes.
+	 */
+	private boolean isTargetComplete() {
+		boolean result = target.getPiecesCount() == start.getPiecesCount();
+		for (int i = 0; i < start.getPiecesCount() && result; i++) {
+			result = target.getPiece(i) != null && target.getPiece(i).equals(start.getPiece(i));
+		}
+		return result;
 	}
 	
 	public static List<Board> boards(Board start, List<Move> moves) {
@@ -0,0 +1,216 @@
+package backtrack.example.puzzle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import backtrack.Backtracker;
+import backtrack.BfsBacktracker;
+import backtrack.SearchBudget;
+import backtrack.SearchResult;
+import backtrack.example.puzzle.core.Board;
+import backtrack.example.puzzle.core.Move;
+
+/**
+ * <p>
+ * Solves puzzles concurrently on a bounded pool of threads. The service is
+ * thread-safe: puzzles can be submitted from any thread.
+ * </p>
+ * <p>
+ * Each task borrows a {@link PuzzleSolver} and its backtracker from a pool, so
+ * that the search state, e.g. the visited set, is reused from one puzzle to the
+ * next instead of being allocated for each puzzle. There are at most as many
+ * solvers as tasks running at once, including those run by submitting threads.
+ * </p>
+ * <p>
+ * The submitted tasks wait in a bounded queue. Once the queue is full, a
+ * submitted task is run by the submitting thread, which slows down the
+ * submissions to the pace of the service. Once the service is shut down, submitted
+ * tasks are rejected.
+ * </p>
+ * <p>
+ * <b>Note:</b>
+ * </p>
+ * <p>
+ * The boards of a puzzle must not be modified until the puzzle is solved.
+ * </p>
+ */
+public class PuzzleSolverService implements AutoCloseable {
+	
+	public static final int DEFAULT_QUEUE_CAPACITY = 1 << 10;
+	
+	/**
+	 * Creates the backtrackers of the pooled solvers.
+	 */
+	public interface BacktrackerFactory {
+		
+		public Backtracker<BoardTuple, Move> create();
+	}
+	
+	private final ExecutorService executor;
+	private final BacktrackerFactory backtrackerFactory;
+	private final Queue<PuzzleSolver> solvers;
+	private volatile long timeoutNanos;
+	private volatile SolutionCache solutionCache;
+	
+	/**
+	 * Creates a service solving puzzles with a {@link BfsBacktracker}.
+	 * 
+	 * @param threadsCount the number of threads
+	 */
+	public PuzzleSolverService(int threadsCount) {
+		this(threadsCount, DEFAULT_QUEUE_CAPACITY, new BacktrackerFactory() {
+			
+			@Override
+			public Backtracker<BoardTuple, Move> create() {
+				return new BfsBacktracker<BoardTuple, Move>();
+			}
+		});
+	}
+	
+	public PuzzleSolverService(int threadsCount, int queueCapacity, BacktrackerFactory backtrackerFactory) {
+		executor = new ThreadPoolExecutor(threadsCount, threadsCount, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(queueCapacity), new CallerRunsPolicy());
+		this.backtrackerFactory = backtrackerFactory;
+		solvers = new ConcurrentLinkedQueue<PuzzleSolver>();
+		timeoutNanos = -1;
+	}
+	
+	/**
+	 * Sets the maximum time spent solving a puzzle, from the moment its task starts.
+	 * By default, there is no timeout.
+	 * 
+	 * @param timeout the timeout
+	 * @param unit the unit of the timeout
+	 */
+	public void setTimeout(long timeout, TimeUnit unit) {
+		timeoutNanos = unit.toNanos(timeout);
+	}
+	
+	/**
+	 * Sets the cache of the solutions shared by the tasks. By default, there is no cache.
+	 * 
+	 * @param solutionCache the cache of the solutions, or <code>null</code>
+	 */
+	public void setSolutionCache(SolutionCache solutionCache) {
+		this.solutionCache = solutionCache;
+	}
+	
+	public SolutionCache getSolutionCache() {
+		return solutionCache;
+	}
+	
+	/**
+	 * Submits a puzzle. Cancelling the returned future with interruption stops the
+	 * search, which then ends as {@link backtrack.Termination#INTERRUPTED}.
+	 * 
+	 * @param puzzle the puzzle
+	 * @return the outcome of the search
+	 * @throws RejectedExecutionException if the service is shut down
+	 */
+	public Future<SearchResult<Move>> submit(final Puzzle puzzle) {
+		return executor.submit(new Callable<SearchResult<Move>>() {
+			
+			@Override
+			public SearchResult<Move> call() {
+				return solve(puzzle);
+			}
+		});
+	}
+	
+	public List<Future<SearchResult<Move>>> submitAll(List<Puzzle> puzzles) {
+		List<Future<SearchResult<Move>>> result = new ArrayList<Future<SearchResult<Move>>>(puzzles.size());
+		for (Puzzle puzzle : puzzles) {
+			result.add(submit(puzzle));
+		}
+		return result;
+	}
+	
+	/**
+	 * Solves a batch of puzzles and waits for the outcomes.
+	 * 
+	 * @param puzzles the puzzles
+	 * @return the outcomes of the searches, in the order of the puzzles
+	 * @throws InterruptedException if the current thread is interrupted while waiting
+	 * @throws ExecutionException if a search throws an exception
+	 */
+	public List<SearchResult<Move>> solveAll(List<Puzzle> puzzles) throws InterruptedException, ExecutionException {
+		List<Future<SearchResult<Move>>> futures = submitAll(puzzles);
+		List<SearchResult<Move>> result = new ArrayList<SearchResult<Move>>(futures.size());
+		for (Future<SearchResult<Move>> future : futures) {
+			result.add(future.get());
+		}
+		return result;
+	}
+	
+	private SearchResult<Move> solve(Puzzle puzzle) {
+		PuzzleSolver solver = solvers.poll();
+		if (solver == null) {
+			solver = new PuzzleSolver();
+			solver.setBacktracker(backtrackerFactory.create());
+		}
+		try {
+			solver.setStart(new Board(puzzle.getStart()));
+			solver.setTarget(puzzle.getTarget());
+			solver.setTargetPieceId(puzzle.getTargetPieceId());
+			solver.setSolutionCache(solutionCache);
+			SearchBudget budget = new SearchBudget();
+			long timeout = timeoutNanos;
+			if (timeout >= 0) {
+				budget.setTimeout(timeout, TimeUnit.NANOSECONDS);
+			}
+			return solver.solve(budget);
+		} finally {
+			solver.setStart(null);
+			solver.setTarget(null);
+			solvers.offer(solver);
+		}
+	}
+	
+	/**
+	 * Stops accepting puzzles, and waits for the submitted ones to be solved. If the
+	 * current thread is interrupted while waiting, returns with its interrupted status
+	 * set.
+	 */
+	@Override
+	public void close() {
+		executor.shutdown();
+		try {
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Stops accepting puzzles, and interrupts the searches in progress.
+	 */
+	public void shutdownNow() {
+		executor.shutdownNow();
+	}
+	
+	/**
+	 * Runs a task rejected because the queue is full on the submitting thread, but
+	 * rejects it with an exception once the service is shut down.
+	 */
+	private static class CallerRunsPolicy implements RejectedExecutionHandler {
+		
+		@Override
+		public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+			if (executor.isShutdown()) {
+				throw new RejectedExecutionException("The service is shut down");
+			}
+			task.run();
+		}
+	}
+}
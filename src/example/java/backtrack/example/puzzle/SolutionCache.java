@@ -0,0 +1,216 @@
+package backtrack.example.puzzle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import backtrack.example.puzzle.core.Board;
+import backtrack.example.puzzle.core.Move;
+import backtrack.example.puzzle.core.Piece;
+import backtrack.example.puzzle.core.Position;
+
+/**
+ * <p>
+ * A bounded cache of the solutions of puzzles, evicting the least recently used
+ * solutions first. The cache is thread-safe.
+ * </p>
+ * <p>
+ * Puzzles are keyed by the shallow equivalence classes of their start and target
+ * boards, the position of the target piece on both boards, and the strategy solving
+ * them, e.g. the class of the backtracker and its settings. The strategy is part of
+ * the key as the solutions of different strategies differ, e.g. in length. Hence a solution is
+ * shared by puzzles whose boards are shallowly equal but number their pieces
+ * differently: the solution is stored with the pieces numbered by the row-major
+ * order of their positions on the start board, and is renumbered for the pieces of
+ * the start board it is returned for.
+ * </p>
+ * <p>
+ * The cache holds at most a maximum number of solutions, and at most a maximum
+ * weight, the weight of a solution being its number of moves.
+ * </p>
+ * 
+ * @see PuzzleSolver#setSolutionCache(SolutionCache)
+ */
+public class SolutionCache {
+	
+	private final int maxSize;
+	private final long maxWeight;
+	private final LinkedHashMap<Key, int[]> solutions;
+	private long weight;
+	private long hitsCount;
+	private long missesCount;
+	
+	public SolutionCache(int maxSize, long maxWeight) {
+		if (maxSize <= 0 || maxWeight <= 0) {
+			throw new IllegalArgumentException("Invalid limits " + maxSize + ", " + maxWeight);
+		}
+		this.maxSize = maxSize;
+		this.maxWeight = maxWeight;
+		solutions = new LinkedHashMap<Key, int[]>(16, 0.75f, true);
+	}
+	
+	/**
+	 * Returns the cached solution of a puzzle.
+	 * 
+	 * @param start the start board
+	 * @param target the target board
+	 * @param targetPieceId the ID of the target piece
+	 * @param strategy the strategy solving the puzzle
+	 * @return the moves solving the puzzle, numbering the pieces as the start board
+	 * does, or <code>null</code> if no solution is cached
+	 */
+	public synchronized List<Move> get(Board start, Board target, int targetPieceId, String strategy) {
+		int[] pieceIds = pieceIdsInOrder(start);
+		int[] solution = solutions.get(new Key(start, pieceIds, target, targetPieceId, strategy));
+		List<Move> result = null;
+		if (solution != null) {
+			hitsCount++;
+			result = new ArrayList<Move>(solution.length);
+			for (int move : solution) {
+				result.add(new Move(pieceIds[Move.pieceId(move)], Move.direction(move), Move.cells(move)));
+			}
+		} else {
+			missesCount++;
+		}
+		return result;
+	}
+	
+	/**
+	 * Caches the solution of a puzzle, unless its weight exceeds the maximum weight.
+	 * 
+	 * @param start the start board
+	 * @param target the target board
+	 * @param targetPieceId the ID of the target piece
+	 * @param strategy the strategy that solved the puzzle
+	 * @param solution the moves solving the puzzle
+	 */
+	public synchronized void put(Board start, Board target, int targetPieceId, String strategy,
+			List<Move> solution) {
+		if (solution.size() <= maxWeight) {
+			int[] pieceIds = pieceIdsInOrder(start);
+			int[] indices = new int[pieceIds.length];
+			for (int i = 0; i < pieceIds.length; i++) {
+				indices[pieceIds[i]] = i;
+			}
+			int[] moves = new int[solution.size()];
+			for (int i = 0; i < moves.length; i++) {
+				Move move = solution.get(i);
+				moves[i] = Move.encode(indices[move.getPieceId()], move.getDirection(), move.getCells());
+			}
+			int[] previous = solutions.put(new Key(start, pieceIds, target, targetPieceId, strategy), moves);
+			if (previous != null) {
+				weight -= previous.length;
+			}
+			weight += moves.length;
+			evict();
+		}
+	}
+	
+	private void evict() {
+		Iterator<Map.Entry<Key, int[]>> iterator = solutions.entrySet().iterator();
+		while (solutions.size() > maxSize || weight > maxWeight) {
+			weight -= iterator.next().getValue().length;
+			iterator.remove();
+		}
+	}
+	
+	public synchronized int size() {
+		return solutions.size();
+	}
+	
+	public synchronized long getWeight() {
+		return weight;
+	}
+	
+	public synchronized long getHitsCount() {
+		return hitsCount;
+	}
+	
+	public synchronized long getMissesCount() {
+		return missesCount;
+	}
+	
+	public synchronized void clear() {
+		solutions.clear();
+		weight = 0;
+	}
+	
+	/**
+	 * Returns the IDs of the pieces of a board in the row-major order of their positions.
+	 */
+	private static int[] pieceIdsInOrder(Board board) {
+		int cols = board.getCols();
+		int[] pieceIdsByCell = new int[board.getRows() * cols];
+		Arrays.fill(pieceIdsByCell, -1);
+		for (int i = 0; i < board.getPiecesCount(); i++) {
+			Position position = board.positionOf(board.getPiece(i));
+			pieceIdsByCell[position.getRow() * cols + position.getCol()] = i;
+		}
+		int[] result = new int[board.getPiecesCount()];
+		int count = 0;
+		for (int pieceId : pieceIdsByCell) {
+			if (pieceId != -1) {
+				result[count++] = pieceId;
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * The strategy, the dimensions of the start board, the positions of the target piece
+	 * on the start and target boards, and the position and dimensions of each piece of
+	 * the start and target boards, in row-major order.
+	 */
+	private static class Key {
+		
+		private final String strategy;
+		private final int[] values;
+		private final int hashCode;
+		
+		public Key(Board start, int[] pieceIds, Board target, int targetPieceId, String strategy) {
+			int cols = start.getCols();
+			int[] targetPieceIds = pieceIdsInOrder(target);
+			this.strategy = strategy;
+			values = new int[4 + 3 * (pieceIds.length + targetPieceIds.length)];
+			values[0] = start.getRows();
+			values[1] = cols;
+			values[2] = cell(start.positionOf(start.getPiece(targetPieceId)), cols);
+			values[3] = cell(target.positionOf(target.getPiece(targetPieceId)), cols);
+			int index = put(start, pieceIds, 4);
+			put(target, targetPieceIds, index);
+			hashCode = 31 * Arrays.hashCode(values) + strategy.hashCode();
+		}
+		
+		private int put(Board board, int[] pieceIds, int index) {
+			for (int i = 0; i < pieceIds.length; i++) {
+				Piece piece = board.getPiece(pieceIds[i]);
+				values[index++] = cell(board.positionOf(piece), board.getCols());
+				values[index++] = piece.getHeight();
+				values[index++] = piece.getWidth();
+			}
+			return index;
+		}
+		
+		private static int cell(Position position, int cols) {
+			return position.getRow() * cols + position.getCol();
+		}
+		
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			boolean result = false;
+			if (obj != null && obj instanceof Key) {
+				Key k = (Key) obj;
+				result = hashCode == k.hashCode && strategy.equals(k.strategy) && Arrays.equals(values, k.values);
+			}
+			return result;
+		}
+	}
+}
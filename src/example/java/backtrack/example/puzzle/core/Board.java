@@ -2,6 +2,8 @@ package backtrack.example.puzzle.core;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import backtrack.example.puzzle.core.Move.Direction;
@@ -14,6 +16,16 @@ public class Board {
 	private final int cols;
 	private final Piece[] pieces;
 	private final Position[] positions;
+	private final Position[] cellPositions;
+	private ShallowCodec shallowCodec;
+	private long strictZobristHash;
+	private long shallowZobristHash;
+	/**
+	 * The cells covered by each piece, one bit per cell in row-major order, if the
+	 * board has at most {@value Long#SIZE} cells; <code>null</code> otherwise.
+	 */
+	private final long[] masks;
+	private long occupancy;
 	
 	/**
 	 * <p>
@@ -32,31 +44,65 @@ public class Board {
 		this.board = new Piece[rows][cols];
 		pieces = new Piece[piecesCount];
 		positions = new Position[piecesCount];
+		cellPositions = new Position[rows * cols];
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < cols; j++) {
+				cellPositions[i * cols + j] = new Position(i, j);
+			}
+		}
+		masks = rows * cols <= Long.SIZE ? new long[piecesCount] : null;
 	}
 	
+	/**
+	 * Constructs a copy of a board. As the pieces of a board are known to be correctly
+	 * placed, they are copied without being placed again.
+	 * 
+	 * @param board the board to copy
+	 */
 	public Board(Board board) {
-		this(board.rows, board.cols, board.pieces.length);
-		for (int i = 0; i < board.pieces.length; i++) {
-			place(board.pieces[i], board.positions[i]);
+		rows = board.rows;
+		cols = board.cols;
+		this.board = new Piece[rows][];
+		for (int i = 0; i < rows; i++) {
+			this.board[i] = Arrays.copyOf(board.board[i], cols);
 		}
+		pieces = Arrays.copyOf(board.pieces, board.pieces.length);
+		positions = Arrays.copyOf(board.positions, board.positions.length);
+		cellPositions = board.cellPositions;
+		shallowCodec = board.shallowCodec;
+		strictZobristHash = board.strictZobristHash;
+		shallowZobristHash = board.shallowZobristHash;
+		masks = board.masks == null ? null : Arrays.copyOf(board.masks, board.masks.length);
+		occupancy = board.occupancy;
 	}
 	
 	public void place(Piece piece, Position position) {
 		if (canPlace(piece, position)) {
-			int row = position.getRow();
-			int col = position.getCol();
-			for (int i = row; i < row + piece.getHeight(); i++) {
-				for (int j = col; j < col + piece.getWidth(); j++) {
-					board[i][j] = piece;
-				}
-			}
-			pieces[piece.getId()] = piece;
-			positions[piece.getId()] = position;
+			put(piece, position);
 		} else {
 			throw new IllegalArgumentException(String.format("Invalid piece %s or position %s", piece, position));
 		}
 	}
 	
+	private void put(Piece piece, Position position) {
+		int row = position.getRow();
+		int col = position.getCol();
+		for (int i = row; i < row + piece.getHeight(); i++) {
+			for (int j = col; j < col + piece.getWidth(); j++) {
+				board[i][j] = piece;
+			}
+		}
+		pieces[piece.getId()] = piece;
+		positions[piece.getId()] = position;
+		if (masks != null) {
+			long mask = mask(row, col, row + piece.getHeight() - 1, col + piece.getWidth() - 1);
+			masks[piece.getId()] = mask;
+			occupancy |= mask;
+		}
+		strictZobristHash ^= strictZobristKey(piece, position);
+		shallowZobristHash ^= shallowZobristKey(piece, position);
+	}
+	
 	private boolean canPlace(Piece piece, Position position) {
 		boolean result = false;
 		if (piece.getId() >= 0 && piece.getId() < pieces.length && pieces[piece.getId()] == null) {
@@ -66,16 +112,20 @@ public class Board {
 			int endCol = (startCol + piece.getWidth()) - 1;
 			if (startRow >= 0 && endRow < rows &&
 					startCol >= 0 && endCol < cols) {
-				result = true;
-				OUTER_LOOP:
-					for (int i = startRow; i <= endRow; i++) {
-						for (int j = startCol; j <= endCol; j++) {
-							if (board[i][j] != null) {
-								result = false;
-								break OUTER_LOOP;
+				if (masks != null) {
+					result = (mask(startRow, startCol, endRow, endCol) & occupancy) == 0;
+				} else {
+					result = true;
+					OUTER_LOOP:
+						for (int i = startRow; i <= endRow; i++) {
+							for (int j = startCol; j <= endCol; j++) {
+								if (board[i][j] != null) {
+									result = false;
+									break OUTER_LOOP;
+								}
 							}
 						}
-					}
+				}
 			}
 		}
 		return result;
@@ -92,12 +142,34 @@ public class Board {
 		}
 		pieces[piece.getId()] = null;
 		positions[piece.getId()] = null;
+		if (masks != null) {
+			occupancy &= ~masks[piece.getId()];
+			masks[piece.getId()] = 0;
+		}
+		strictZobristHash ^= strictZobristKey(piece, position);
+		shallowZobristHash ^= shallowZobristKey(piece, position);
 	}
 	
 	public Piece pieceAt(Position position) {
 		return board[position.getRow()][position.getCol()];
 	}
 	
+	public int getRows() {
+		return rows;
+	}
+	
+	public int getCols() {
+		return cols;
+	}
+	
+	public int getPiecesCount() {
+		return pieces.length;
+	}
+	
+	public Piece getPiece(int pieceId) {
+		return pieces[pieceId];
+	}
+	
 	public Position positionOf(Piece piece) {
 		return positions[piece.getId()];
 	}
@@ -108,15 +180,49 @@ public class Board {
 	 * @return a list of valid moves
 	 */
 	public List<Move> moves() {
-		List<Move> result = new ArrayList<Move>();
+		int[] moves = new int[maxMovesCount()];
+		int count = moves(moves);
+		List<Move> result = new ArrayList<Move>(count);
+		for (int i = 0; i < count; i++) {
+			result.add(Move.decode(moves[i]));
+		}
+		return result;
+	}
+	
+	/**
+	 * Writes the codes of the valid moves into an array, in the same order as
+	 * {@link #moves()}.
+	 * 
+	 * @param moves an array of at least {@link #maxMovesCount()} elements
+	 * @return the number of valid moves
+	 * @see Move#encode()
+	 */
+	public int moves(int[] moves) {
+		int count = 0;
+		for (Piece piece : pieces) {
+			count = moves(piece, moves, count);
+		}
+		return count;
+	}
+	
+	/**
+	 * Returns the maximum number of valid moves of this board, whatever the positions
+	 * of its pieces.
+	 * 
+	 * @return the maximum number of valid moves
+	 */
+	public int maxMovesCount() {
+		int result = 0;
 		for (Piece piece : pieces) {
-			result.addAll(moves(piece));
+			result += (rows - piece.getHeight()) + (cols - piece.getWidth());
 		}
 		return result;
 	}
 	
-	private List<Move> moves(Piece piece) {
-		List<Move> result = new ArrayList<Move>();
+	private int moves(Piece piece, int[] moves, int count) {
+		if (masks != null) {
+			return bitboardMoves(piece, moves, count);
+		}
 		Position position = positions[piece.getId()];
 		int height = piece.getHeight();
 		int width = piece.getWidth();
@@ -134,7 +240,7 @@ public class Board {
 			}
 			if (canMove) {
 				cells++;
-				result.add(new Move(piece.getId(), Direction.UP, cells));
+				moves[count++] = Move.encode(piece.getId(), Direction.UP, cells);
 			}
 			row--;
 		}
@@ -152,7 +258,7 @@ public class Board {
 			}
 			if (canMove) {
 				cells++;
-				result.add(new Move(piece.getId(), Direction.DOWN, cells));
+				moves[count++] = Move.encode(piece.getId(), Direction.DOWN, cells);
 			}
 			row++;
 		}
@@ -170,7 +276,7 @@ public class Board {
 			}
 			if (canMove) {
 				cells++;
-				result.add(new Move(piece.getId(), Direction.LEFT, cells));
+				moves[count++] = Move.encode(piece.getId(), Direction.LEFT, cells);
 			}
 			col--;
 		}
@@ -188,38 +294,169 @@ public class Board {
 			}
 			if (canMove) {
 				cells++;
-				result.add(new Move(piece.getId(), Direction.RIGHT, cells));
+				moves[count++] = Move.encode(piece.getId(), Direction.RIGHT, cells);
 			}
 			col++;
 		}
+		return count;
+	}
+	
+	/**
+	 * Writes the codes of the valid moves of a piece using the bitboard: sliding a
+	 * piece by one cell shifts its mask by one row or column, and the slide is valid
+	 * as long as the shifted mask does not overlap the other pieces.
+	 */
+	private int bitboardMoves(Piece piece, int[] moves, int count) {
+		int id = piece.getId();
+		Position position = positions[id];
+		int row = position.getRow();
+		int col = position.getCol();
+		long mask = masks[id];
+		long others = occupancy & ~mask;
+		// Direction.UP
+		long shifted = mask >>> cols;
+		for (int cells = 1; cells <= row && (shifted & others) == 0; cells++) {
+			moves[count++] = Move.encode(id, Direction.UP, cells);
+			shifted >>>= cols;
+		}
+		// Direction.DOWN
+		shifted = mask << cols;
+		for (int cells = 1; row + piece.getHeight() + cells <= rows && (shifted & others) == 0; cells++) {
+			moves[count++] = Move.encode(id, Direction.DOWN, cells);
+			shifted <<= cols;
+		}
+		// Direction.LEFT
+		shifted = mask >>> 1;
+		for (int cells = 1; cells <= col && (shifted & others) == 0; cells++) {
+			moves[count++] = Move.encode(id, Direction.LEFT, cells);
+			shifted >>>= 1;
+		}
+		// Direction.RIGHT
+		shifted = mask << 1;
+		for (int cells = 1; col + piece.getWidth() + cells <= cols && (shifted & others) == 0; cells++) {
+			moves[count++] = Move.encode(id, Direction.RIGHT, cells);
+			shifted <<= 1;
+		}
+		return count;
+	}
+	
+	/**
+	 * Returns the bitboard mask of a rectangle of cells, assumed to lie within the
+	 * board.
+	 */
+	private long mask(int startRow, int startCol, int endRow, int endCol) {
+		int width = endCol - startCol + 1;
+		long line = width == Long.SIZE ? -1L : (1L << width) - 1;
+		long result = 0;
+		for (int i = startRow; i <= endRow; i++) {
+			result |= line << (i * cols + startCol);
+		}
 		return result;
 	}
 	
 	public void apply(Move move) {
+		apply(move.encode());
+	}
+	
+	/**
+	 * Applies a move given its code.
+	 * 
+	 * @param move the code of the move
+	 * @throws IllegalArgumentException if the move is not valid
+	 * @see Move#encode()
+	 */
+	public void apply(int move) {
 		if (canApply(move)) {
-			Piece piece = pieces[move.getPieceId()];
-			Direction direction = move.getDirection();
-			Position position = positions[piece.getId()];
+			applyUnchecked(move);
+		} else {
+			throw new IllegalArgumentException("Invalid move " + Move.decode(move));
+		}
+	}
+	
+	/**
+	 * Applies a move given its code, without checking that it is valid. The behaviour
+	 * is undefined if the move is not valid, e.g. if it was not returned by
+	 * {@link #moves(int[])} for the current state of this board.
+	 * 
+	 * @param move the code of a valid move
+	 */
+	public void applyUnchecked(int move) {
+		Piece piece = pieces[Move.pieceId(move)];
+		Position position = cellPositions[rowAfter(move) * cols + colAfter(move)];
+		remove(piece);
+		put(piece, position);
+	}
+	
+	/**
+	 * Undoes the last move applied to this board, without checking that it is valid.
+	 * 
+	 * @param move the code of the last move applied to this board
+	 * @see #applyUnchecked(int)
+	 */
+	public void undo(int move) {
+		applyUnchecked(Move.inverse(move));
+	}
+	
+	private int rowAfter(int move) {
+		int row = positions[Move.pieceId(move)].getRow();
+		Direction direction = Move.direction(move);
+		if (direction == Direction.UP) {
+			row -= Move.cells(move);
+		} else if (direction == Direction.DOWN) {
+			row += Move.cells(move);
+		}
+		return row;
+	}
+	
+	private int colAfter(int move) {
+		int col = positions[Move.pieceId(move)].getCol();
+		Direction direction = Move.direction(move);
+		if (direction == Direction.RIGHT) {
+			col += Move.cells(move);
+		} else if (direction == Direction.LEFT) {
+			col -= Move.cells(move);
+		}
+		return col;
+	}
+	
+	/**
+	 * Indicates whether a move is valid, by checking only the cells swept by the move.
+	 */
+	private boolean canApply(int move) {
+		boolean result = false;
+		int pieceId = Move.pieceId(move);
+		int cells = Move.cells(move);
+		if (pieceId < pieces.length && pieces[pieceId] != null && cells > 0) {
+			Piece piece = pieces[pieceId];
+			Position position = positions[pieceId];
 			int row = position.getRow();
 			int col = position.getCol();
+			Direction direction = Move.direction(move);
 			if (direction == Direction.UP) {
-				row -= move.getCells();
+				result = isEmpty(row - cells, col, row - 1, col + piece.getWidth() - 1);
 			} else if (direction == Direction.DOWN) {
-				row += move.getCells();
-			} else if (direction == Direction.RIGHT) {
-				col += move.getCells();
+				result = isEmpty(row + piece.getHeight(), col, row + piece.getHeight() + cells - 1, col + piece.getWidth() - 1);
 			} else if (direction == Direction.LEFT) {
-				col -= move.getCells();
+				result = isEmpty(row, col - cells, row + piece.getHeight() - 1, col - 1);
+			} else if (direction == Direction.RIGHT) {
+				result = isEmpty(row, col + piece.getWidth(), row + piece.getHeight() - 1, col + piece.getWidth() + cells - 1);
 			}
-			remove(piece);
-			place(piece, new Position(row, col));
-		} else {
-			throw new IllegalArgumentException("Invalid move " + move);
 		}
+		return result;
 	}
 	
-	private boolean canApply(Move move) {
-		return moves().contains(move);
+	private boolean isEmpty(int startRow, int startCol, int endRow, int endCol) {
+		boolean result = startRow >= 0 && endRow < rows && startCol >= 0 && endCol < cols;
+		if (result && masks != null) {
+			result = (mask(startRow, startCol, endRow, endCol) & occupancy) == 0;
+		} else {
+			for (int i = startRow; i <= endRow && result; i++) {
+				for (int j = startCol; j <= endCol && result; j++) {
+					result = board[i][j] == null;
+				}
+			}
+		}
+		return result;
 	}
 	
 	@Override
@@ -228,27 +465,294 @@ public class Board {
 	}
 	
 	public int strictHashCode() {
-		Object[] hash = new Object[pieces.length + positions.length];
+		return (int) (strictZobristHash ^ (strictZobristHash >>> 32));
+	}
+	
+	public int shallowHashCode() {
+		return (int) (shallowZobristHash ^ (shallowZobristHash >>> 32));
+	}
+	
+	/**
+	 * <p>
+	 * Returns the Zobrist hash of this board: the exclusive or of a pseudo-random key
+	 * for each piece, determined by the ID and dimensions of the piece and by the cell
+	 * of its top-left corner.
+	 * </p>
+	 * <p>
+	 * The hash is maintained incrementally as pieces are placed and moved, so this
+	 * method runs in constant time.
+	 * </p>
+	 * 
+	 * @return the Zobrist hash of this board
+	 */
+	public long strictZobristHash() {
+		return strictZobristHash;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the shallow Zobrist hash of this board, where the key of each piece is
+	 * determined by its dimensions but not by its ID.
+	 * </p>
+	 * <p>
+	 * Shallowly equal boards have equal shallow Zobrist hashes.
+	 * </p>
+	 * 
+	 * @return the shallow Zobrist hash of this board
+	 * @see #strictZobristHash()
+	 */
+	public long shallowZobristHash() {
+		return shallowZobristHash;
+	}
+	
+	/**
+	 * Returns the shallow Zobrist hash of the board resulting from applying a valid
+	 * move to this board, without applying it.
+	 * 
+	 * @param move the code of a valid move
+	 * @return the shallow Zobrist hash of the board resulting from the move
+	 */
+	public long shallowZobristHash(int move) {
+		Piece piece = pieces[Move.pieceId(move)];
+		Position position = positions[piece.getId()];
+		return shallowZobristHash ^ shallowZobristKey(piece, position.getRow() * cols + position.getCol()) ^
+				shallowZobristKey(piece, rowAfter(move) * cols + colAfter(move));
+	}
+	
+	private long strictZobristKey(Piece piece, Position position) {
+		long seed = ((long) piece.getId() << 32) | (piece.getHeight() << 16) | piece.getWidth();
+		return zobristKey(seed, position.getRow() * cols + position.getCol());
+	}
+	
+	private long shallowZobristKey(Piece piece, Position position) {
+		return shallowZobristKey(piece, position.getRow() * cols + position.getCol());
+	}
+	
+	private static long shallowZobristKey(Piece piece, int cell) {
+		long seed = Long.MIN_VALUE | (piece.getHeight() << 16) | piece.getWidth();
+		return zobristKey(seed, cell);
+	}
+	
+	private static long zobristKey(long seed, int cell) {
+		return mix(mix(seed) + cell);
+	}
+	
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+	
+	/**
+	 * <p>
+	 * Returns a packed encoding of the shallow equivalence class of this board.
+	 * </p>
+	 * <p>
+	 * Each cell of the board is assigned a code: <code>0</code> if no piece has its
+	 * top-left corner at that cell, or the index of the piece's shape (starting at
+	 * <code>1</code>) among the distinct shapes of this board otherwise. Codes are
+	 * packed into as few bits as possible, cell by cell in row-major order, without
+	 * straddling words. For example, the Quzzle has four distinct shapes, hence codes
+	 * of 3 bits, and its 20 cells fit in a single <code>long</code>.
+	 * </p>
+	 * <p>
+	 * <b>Note:</b>
+	 * </p>
+	 * <p>
+	 * Encodings are only comparable between boards of the same dimensions and with
+	 * the same pieces, such as all the boards reachable from a given board. Between
+	 * such boards, shallowly equal boards have equal encodings, and vice versa.
+	 * </p>
+	 * 
+	 * @return the packed encoding of this board
+	 */
+	public long[] encodeShallow() {
+		ShallowCodec codec = getShallowCodec();
+		long[] result = new long[codec.words];
 		for (int i = 0; i < pieces.length; i++) {
-			hash[i] = pieces[i];
+			int cell = positions[i].getRow() * cols + positions[i].getCol();
+			result[cell / codec.cellsPerWord] |=
+					(long) codec.codes[i] << ((cell % codec.cellsPerWord) * codec.bitsPerCell);
 		}
-		for (int i = 0; i < positions.length; i++) {
-			hash[pieces.length + i] = positions[i];
+		return result;
+	}
+	
+	/**
+	 * Returns the packed encoding of the shallow equivalence class of the board
+	 * resulting from applying a valid move to this board, without applying it.
+	 * 
+	 * @param encoding the packed encoding of this board
+	 * @param move the code of a valid move
+	 * @return the packed encoding of the board resulting from the move
+	 * @see #encodeShallow()
+	 */
+	public long[] encodeShallow(long[] encoding, int move) {
+		return encodeShallow(encoding, move, new long[encoding.length]);
+	}
+	
+	/**
+	 * Writes the packed encoding of the shallow equivalence class of the board
+	 * resulting from applying a valid move to this board into an array, without
+	 * applying the move, so that the encodings of several moves can share a buffer.
+	 * 
+	 * @param encoding the packed encoding of this board
+	 * @param move the code of a valid move
+	 * @param result the array receiving the encoding, of the same length as the
+	 * encoding of this board, which may be the encoding itself
+	 * @return the array receiving the encoding
+	 * @see #encodeShallow()
+	 */
+	public long[] encodeShallow(long[] encoding, int move, long[] result) {
+		ShallowCodec codec = getShallowCodec();
+		System.arraycopy(encoding, 0, result, 0, encoding.length);
+		int pieceId = Move.pieceId(move);
+		Position from = positions[pieceId];
+		int fromCell = from.getRow() * cols + from.getCol();
+		int toCell = rowAfter(move) * cols + colAfter(move);
+		result[fromCell / codec.cellsPerWord] &=
+				~((long) codec.codes[pieceId] << ((fromCell % codec.cellsPerWord) * codec.bitsPerCell));
+		result[toCell / codec.cellsPerWord] |=
+				(long) codec.codes[pieceId] << ((toCell % codec.cellsPerWord) * codec.bitsPerCell);
+		return result;
+	}
+	
+	/**
+	 * <p>
+	 * Returns a board with the pieces of this board, placed according to a packed
+	 * shallow encoding.
+	 * </p>
+	 * <p>
+	 * As the encoding does not retain the IDs of the pieces, the pieces of each shape
+	 * are placed in increasing order of ID, at the encoded positions of that shape
+	 * in row-major order. The returned board is shallowly equal to any board with
+	 * this encoding.
+	 * </p>
+	 * 
+	 * @param encoding an array containing the packed encoding of a board with the
+	 * same dimensions and pieces as this board
+	 * @param offset the index of the first <code>long</code> of the encoding in the array
+	 * @return the decoded board
+	 * @throws IllegalArgumentException if the encoding does not match the pieces of this board
+	 * @see #encodeShallow()
+	 */
+	public Board decodeShallow(long[] encoding, int offset) {
+		ShallowCodec codec = getShallowCodec();
+		Board result = new Board(this);
+		for (Piece piece : pieces) {
+			result.remove(piece);
+		}
+		int[] nextPieceIds = new int[pieces.length + 2];
+		long codeMask = (1L << codec.bitsPerCell) - 1;
+		for (int cell = 0; cell < rows * cols; cell++) {
+			int code = (int) ((encoding[offset + cell / codec.cellsPerWord] >>>
+					((cell % codec.cellsPerWord) * codec.bitsPerCell)) & codeMask);
+			if (code != 0) {
+				int pieceId = code < nextPieceIds.length ? nextPieceIds[code] : pieces.length;
+				while (pieceId < pieces.length && codec.codes[pieceId] != code) {
+					pieceId++;
+				}
+				if (pieceId == pieces.length || !result.canPlace(pieces[pieceId], cellPositions[cell])) {
+					throw new IllegalArgumentException("Invalid encoding at cell " + cellPositions[cell]);
+				}
+				result.put(pieces[pieceId], cellPositions[cell]);
+				nextPieceIds[code] = pieceId + 1;
+			}
+		}
+		for (Piece piece : result.pieces) {
+			if (piece == null) {
+				throw new IllegalArgumentException("Missing pieces in encoding");
+			}
 		}
-		return Arrays.deepHashCode(hash);
+		return result;
 	}
 	
-	public int shallowHashCode() {
-		Object[] hash = new Object[pieces.length + positions.length];
-		Position[] sortedPositions = Arrays.copyOf(positions, positions.length);
-		Arrays.sort(sortedPositions);
+	/**
+	 * <p>
+	 * Returns a board with the pieces of this board, placed according to a packed
+	 * shallow encoding, with a given piece at a given cell.
+	 * </p>
+	 * <p>
+	 * The pieces are placed as by {@link #decodeShallow(long[], int)}, then the given
+	 * piece is swapped with the piece of the same shape placed at the given cell, so
+	 * that the identity of that piece is retained.
+	 * </p>
+	 * 
+	 * @param encoding an array containing the packed encoding of a board with the
+	 * same dimensions and pieces as this board
+	 * @param offset the index of the first <code>long</code> of the encoding in the array
+	 * @param pieceId the ID of the piece to place at the cell
+	 * @param cell the cell of the top-left corner of the piece, in row-major order
+	 * @return the decoded board
+	 * @throws IllegalArgumentException if the encoding does not match the pieces of this
+	 * board, or no piece of the same shape as the given piece is placed at the cell
+	 * @see #decodeShallow(long[], int)
+	 */
+	public Board decodeShallow(long[] encoding, int offset, int pieceId, int cell) {
+		if (pieceId < 0 || pieceId >= pieces.length || cell < 0 || cell >= rows * cols) {
+			throw new IllegalArgumentException(String.format("Invalid piece %d or cell %d", pieceId, cell));
+		}
+		Board result = decodeShallow(encoding, offset);
+		Piece piece = result.pieces[pieceId];
+		Position position = cellPositions[cell];
+		Piece other = result.pieceAt(position);
+		if (other == null || !other.equals(piece) || !result.positionOf(other).equals(position)) {
+			throw new IllegalArgumentException("No piece of the shape of " + piece + " at cell " + position);
+		}
+		if (other != piece) {
+			Position from = result.positionOf(piece);
+			result.remove(piece);
+			result.remove(other);
+			result.put(piece, position);
+			result.put(other, from);
+		}
+		return result;
+	}
+	
+	/**
+	 * Returns the packed encoding of the shallow equivalence class of the mirror image
+	 * of this board, reflected left to right, without constructing it.
+	 * 
+	 * @return the packed encoding of the mirror image of this board
+	 * @see #encodeShallow()
+	 */
+	public long[] encodeShallowMirrored() {
+		ShallowCodec codec = getShallowCodec();
+		long[] result = new long[codec.words];
+		for (int i = 0; i < pieces.length; i++) {
+			int cell = mirroredCell(i);
+			result[cell / codec.cellsPerWord] |=
+					(long) codec.codes[i] << ((cell % codec.cellsPerWord) * codec.bitsPerCell);
+		}
+		return result;
+	}
+	
+	/**
+	 * Returns the shallow Zobrist hash of the mirror image of this board, reflected
+	 * left to right, without constructing it.
+	 * 
+	 * @return the shallow Zobrist hash of the mirror image of this board
+	 * @see #shallowZobristHash()
+	 */
+	public long mirroredShallowZobristHash() {
+		long result = 0;
 		for (int i = 0; i < pieces.length; i++) {
-			hash[i] = pieceAt(sortedPositions[i]);
+			result ^= shallowZobristKey(pieces[i], mirroredCell(i));
 		}
-		for (int i = 0; i < positions.length; i++) {
-			hash[pieces.length + i] = sortedPositions[i];
+		return result;
+	}
+	
+	private int mirroredCell(int pieceId) {
+		Position position = positions[pieceId];
+		return position.getRow() * cols + (cols - position.getCol() - pieces[pieceId].getWidth());
+	}
+	
+	private ShallowCodec getShallowCodec() {
+		ShallowCodec result = shallowCodec;
+		if (result == null) {
+			result = new ShallowCodec(pieces, rows * cols);
+			shallowCodec = result;
 		}
-		return Arrays.deepHashCode(hash);
+		return result;
 	}
 	
 	@Override
@@ -379,4 +883,40 @@ public class Board {
 		}
 		return builder.toString();
 	}
+	
+	/**
+	 * The layout of the shallow encoding of a board, shared between boards with the
+	 * same pieces.
+	 */
+	private static final class ShallowCodec {
+		
+		private final int[] codes;
+		private final int bitsPerCell;
+		private final int cellsPerWord;
+		private final int words;
+		
+		private ShallowCodec(Piece[] pieces, int cells) {
+			List<Piece> shapes = new ArrayList<Piece>();
+			for (Piece piece : pieces) {
+				if (!shapes.contains(piece)) {
+					shapes.add(piece);
+				}
+			}
+			Collections.sort(shapes, new Comparator<Piece>() {
+				
+				@Override
+				public int compare(Piece p1, Piece p2) {
+					int result = p1.getHeight() - p2.getHeight();
+					return result != 0 ? result : p1.getWidth() - p2.getWidth();
+				}
+			});
+			codes = new int[pieces.length];
+			for (int i = 0; i < pieces.length; i++) {
+				codes[i] = shapes.indexOf(pieces[i]) + 1;
+			}
+			bitsPerCell = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(shapes.size()));
+			cellsPerWord = Long.SIZE / bitsPerCell;
+			words = (cells + cellsPerWord - 1) / cellsPerWord;
+		}
+	}
 }
@@ -2,6 +2,16 @@ package backtrack.example.puzzle.core;
 
 import java.util.Objects;
 
+/**
+ * <p>
+ * A move of a piece on a board.
+ * </p>
+ * <p>
+ * Moves can also be represented by <code>int</code> codes, as returned by
+ * {@link #encode()}, so that they can be generated and applied without allocating
+ * <code>Move</code> objects.
+ * </p>
+ */
 public class Move {
 
 	public enum Direction {
@@ -17,22 +27,91 @@ public class Move {
 			this.toString = toString;
 		}
 
+		public Direction opposite() {
+			return DIRECTIONS[(ordinal() + 2) % 4];
+		}
+		
 		@Override
 		public String toString() {
 			return toString;
 		}
 	}
 	
+	private static final Direction[] DIRECTIONS = Direction.values();
+	private static final int DIRECTION_BITS = 2;
+	private static final int CELLS_BITS = 12;
+	private static final int DIRECTION_MASK = (1 << DIRECTION_BITS) - 1;
+	private static final int CELLS_MASK = (1 << CELLS_BITS) - 1;
+	private static final int MAX_PIECE_ID = (1 << (Integer.SIZE - 1 - CELLS_BITS - DIRECTION_BITS)) - 1;
+	
 	private final int pieceId;
 	private final Direction direction;
 	private final int cells;
-	private final String toString;
 
 	public Move(int pieceId, Direction direction, int cells) {
 		this.pieceId = pieceId;
 		this.direction = direction;
 		this.cells = cells;
-		toString = "M" + pieceId + ":" + direction + "" + cells;
+	}
+	
+	/**
+	 * Returns the code of a move. Codes are non-negative, and equal moves have equal
+	 * codes.
+	 * <p>
+	 * The arguments are not checked, so that moves can be generated without overhead:
+	 * use {@link #encode()} to encode a move of unknown validity.
+	 * </p>
+	 * 
+	 * @param pieceId the ID of the moved piece, between <code>0</code> and
+	 *        <code>131071</code>
+	 * @param direction the direction of the move, not <code>null</code>
+	 * @param cells the number of cells of the move, between <code>1</code> and
+	 *        <code>4095</code>
+	 * @return the code of the move
+	 */
+	public static int encode(int pieceId, Direction direction, int cells) {
+		return (pieceId << (CELLS_BITS + DIRECTION_BITS)) | (cells << DIRECTION_BITS) | direction.ordinal();
+	}
+	
+	public static Move decode(int move) {
+		return new Move(pieceId(move), direction(move), cells(move));
+	}
+	
+	public static int pieceId(int move) {
+		return move >>> (CELLS_BITS + DIRECTION_BITS);
+	}
+	
+	public static Direction direction(int move) {
+		return DIRECTIONS[move & DIRECTION_MASK];
+	}
+	
+	public static int cells(int move) {
+		return (move >>> DIRECTION_BITS) & CELLS_MASK;
+	}
+	
+	/**
+	 * Returns the code of the move undoing a move.
+	 * 
+	 * @param move the code of a move
+	 * @return the code of the move undoing the move
+	 */
+	public static int inverse(int move) {
+		return (move & ~DIRECTION_MASK) | ((move + 2) & DIRECTION_MASK);
+	}
+	
+	/**
+	 * Returns the code of this move.
+	 * 
+	 * @return the code of this move
+	 * @throws IllegalArgumentException if the piece ID is not between <code>0</code> and
+	 *         <code>131071</code>, the direction is <code>null</code>, or the number
+	 *         of cells is not between <code>1</code> and <code>4095</code>
+	 */
+	public int encode() {
+		if (pieceId < 0 || pieceId > MAX_PIECE_ID || direction == null || cells < 1 || cells > CELLS_MASK) {
+			throw new IllegalArgumentException("Invalid move " + this);
+		}
+		return encode(pieceId, direction, cells);
 	}
 	
 	public int getPieceId() {
@@ -47,6 +126,15 @@ public class Move {
 		return cells;
 	}
 	
+	/**
+	 * Returns the move undoing this move.
+	 * 
+	 * @return the move undoing this move
+	 */
+	public Move inverse() {
+		return new Move(pieceId, direction.opposite(), cells);
+	}
+	
 	@Override
 	public int hashCode() {
 		return Objects.hash(pieceId, direction, cells);
@@ -64,6 +152,6 @@ public class Move {
 	
 	@Override
 	public String toString() {
-		return toString;
+		return "M" + pieceId + ":" + direction + "" + cells;
 	}
 }
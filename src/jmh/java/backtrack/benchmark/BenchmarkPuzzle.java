@@ -0,0 +1,124 @@
+package backtrack.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import backtrack.example.puzzle.PuzzleSolver;
+import backtrack.example.puzzle.core.Board;
+import backtrack.example.puzzle.util.StandardFormatUtils;
+
+/**
+ * <p>
+ * The puzzles used by the benchmarks, in standard format. In each puzzle the piece
+ * with ID <code>0</code> is moved to the bottom-right corner of the board.
+ * </p>
+ * <p>
+ * The dominoes puzzles fill the board with horizontal dominoes around two gaps. The
+ * board of 8x8 cells is represented with bitboards, the board of 9x8 cells is not.
+ * </p>
+ * 
+ * @see StandardFormatUtils
+ */
+public enum BenchmarkPuzzle {
+	
+	QUZZLE(5, 4,
+			"0 0 1 1\n" +
+			"0 0 2 3\n" +
+			". . 2 3\n" +
+			"4 5 5 6\n" +
+			"4 7 7 8\n",
+			"1 1 0 0\n" +
+			"3 2 0 0\n" +
+			"3 2 . .\n" +
+			"6 5 5 4\n" +
+			"8 7 7 4\n"),
+	KLOTSKI(5, 4,
+			"1 0 0 2\n" +
+			"1 0 0 2\n" +
+			"3 4 4 5\n" +
+			"3 6 7 5\n" +
+			"8 . . 9\n",
+			". . . .\n" +
+			". . . .\n" +
+			". . . .\n" +
+			". 0 0 .\n" +
+			". 0 0 .\n"),
+	DOMINOES_8X8(8, 8,
+			"0 0 1 1 2 2 3 3\n" +
+			"0 0 4 4 5 5 6 6\n" +
+			"7 7 8 8 9 9 10 10\n" +
+			"11 11 12 12 . . 13 13\n" +
+			"14 14 15 15 16 16 17 17\n" +
+			"18 18 19 19 20 20 . .\n" +
+			"21 21 22 22 23 23 24 24\n" +
+			"25 25 26 26 27 27 28 28\n",
+			". . . . . . . .\n" +
+			". . . . . . . .\n" +
+			". . . . . . . .\n" +
+			". . . . . . . .\n" +
+			". . . . . . . .\n" +
+			". . . . . . . .\n" +
+			". . . . . . 0 0\n" +
+			". . . . . . 0 0\n"),
+	DOMINOES_9X8(9, 8,
+			"0 0 1 1 2 2 3 3\n" +
+			"0 0 4 4 5 5 6 6\n" +
+			"7 7 8 8 9 9 10 10\n" +
+			"11 11 12 12 . . 13 13\n" +
+			"14 14 15 15 16 16 17 17\n" +
+			"18 18 19 19 20 20 21 21\n" +
+			"22 22 23 23 24 24 . .\n" +
+			"25 25 26 26 27 27 28 28\n" +
+			"29 29 30 30 31 31 32 32\n",
+			". . . . . . . .\n" +
+			". . . . . . . .\n" +
+			". . . . . . . .\n" +
+			". . . . . . . .\n" +
+			". . . . . . . .\n" +
+			". . . . . . . .\n" +
+			". . . . . . . .\n" +
+			". . . . . . 0 0\n" +
+			". . . . . . 0 0\n");
+	
+	private final int rows;
+	private final int cols;
+	private final String start;
+	private final String target;
+	
+	private BenchmarkPuzzle(int rows, int cols, String start, String target) {
+		this.rows = rows;
+		this.cols = cols;
+		this.start = start;
+		this.target = target;
+	}
+	
+	public Board start() {
+		return parse(start);
+	}
+	
+	public Board target() {
+		return parse(target);
+	}
+	
+	/**
+	 * Returns a solver of this puzzle, without a backtracker.
+	 * 
+	 * @return a solver of this puzzle
+	 */
+	public PuzzleSolver solver() {
+		PuzzleSolver result = new PuzzleSolver();
+		result.setStart(start());
+		result.setTarget(target());
+		result.setTargetPieceId(0);
+		return result;
+	}
+	
+	private Board parse(String board) {
+		try {
+			return StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(board)), rows, cols);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package backtrack.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>
+ * Runs the benchmarks with the GC profiler, which reports the allocation rate
+ * along with the throughput.
+ * </p>
+ * <p>
+ * The benchmarks are compiled with the main and example sources, with
+ * <code>jmh-core</code> on the classpath and <code>jmh-generator-annprocess</code>
+ * as annotation processor. The arguments are the JMH command line options, e.g. a
+ * regular expression to select the benchmarks, or <code>-p puzzle=QUZZLE</code> to
+ * select the puzzles.
+ * </p>
+ */
+public class BenchmarkRunner {
+	
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+		Options options = new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+}
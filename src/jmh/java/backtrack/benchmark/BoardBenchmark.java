@@ -0,0 +1,86 @@
+package backtrack.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import backtrack.example.puzzle.core.Board;
+import backtrack.example.puzzle.core.Move;
+
+/**
+ * Measures the throughput of the methods of {@link Board} used when expanding a
+ * tuple, on the start board of each puzzle.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+	
+	@Param({"QUZZLE", "KLOTSKI", "DOMINOES_8X8", "DOMINOES_9X8"})
+	private BenchmarkPuzzle puzzle;
+	
+	private Board board;
+	private int[] moves;
+	private int move;
+	
+	@Setup
+	public void setUp() {
+		board = puzzle.start();
+		moves = new int[board.maxMovesCount()];
+		if (board.moves(moves) == 0) {
+			throw new IllegalStateException("No moves on " + puzzle);
+		}
+		move = moves[0];
+	}
+	
+	@Benchmark
+	public List<Move> moves() {
+		return board.moves();
+	}
+	
+	@Benchmark
+	public int movesCodes() {
+		return board.moves(moves);
+	}
+	
+	/**
+	 * Applies a move and undoes it, so that the board is the same at each invocation.
+	 * 
+	 * @return the board
+	 */
+	@Benchmark
+	public Board applyAndUndo() {
+		board.apply(move);
+		board.undo(move);
+		return board;
+	}
+	
+	@Benchmark
+	public Board copy() {
+		return new Board(board);
+	}
+	
+	@Benchmark
+	public int shallowHashCode() {
+		return board.shallowHashCode();
+	}
+	
+	@Benchmark
+	public long shallowZobristHash() {
+		return board.shallowZobristHash();
+	}
+}
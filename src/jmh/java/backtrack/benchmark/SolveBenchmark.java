@@ -0,0 +1,75 @@
+package backtrack.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import backtrack.Backtracker;
+import backtrack.BfsBacktracker;
+import backtrack.DfsBacktracker;
+import backtrack.example.puzzle.BoardTuple;
+import backtrack.example.puzzle.PuzzleSolver;
+import backtrack.example.puzzle.core.Move;
+
+/**
+ * Measures the number of puzzles solved per second by each strategy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolveBenchmark {
+	
+	public enum Strategy {
+		
+		BFS {
+			@Override
+			Backtracker<BoardTuple, Move> backtracker() {
+				return new BfsBacktracker<BoardTuple, Move>();
+			}
+		},
+		DFS {
+			@Override
+			Backtracker<BoardTuple, Move> backtracker() {
+				return new DfsBacktracker<BoardTuple, Move>();
+			}
+		};
+		
+		abstract Backtracker<BoardTuple, Move> backtracker();
+	}
+	
+	@Param({"QUZZLE", "KLOTSKI", "DOMINOES_8X8", "DOMINOES_9X8"})
+	private BenchmarkPuzzle puzzle;
+	
+	@Param({"BFS", "DFS"})
+	private Strategy strategy;
+	
+	private PuzzleSolver solver;
+	
+	@Setup
+	public void setUp() {
+		solver = puzzle.solver();
+		solver.setBacktracker(strategy.backtracker());
+		if (solver.solve() == null) {
+			throw new IllegalStateException("No solution of " + puzzle);
+		}
+	}
+	
+	@Benchmark
+	public List<Move> solve() {
+		return solver.solve();
+	}
+}
@@ -0,0 +1,131 @@
+package backtrack;
+
+import java.util.AbstractQueue;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+/**
+ * <p>
+ * A best-first backtracker visiting tuples by increasing <code>g + h</code>, where
+ * <code>g</code> is the size of a tuple and <code>h</code> the estimate of its
+ * {@link Heuristic}.
+ * </p>
+ * <p>
+ * Ties are broken in favour of larger tuples, then in insertion order. With a
+ * consistent heuristic, the returned solutions are as short as those found by a
+ * {@link BfsBacktracker}.
+ * </p>
+ * 
+ * @param <E> the type of elements of the tuples
+ */
+public class AStarBacktracker<T extends Tuple<E>, E> extends Backtracker<T, E> {
+
+	private final Heuristic<T> heuristic;
+	private final Queue<Tuple<E>> traversalQueue;
+	
+	public AStarBacktracker(Heuristic<T> heuristic) {
+		this.heuristic = heuristic;
+		traversalQueue = new EstimateQueue();
+	}
+	
+	public Heuristic<T> getHeuristic() {
+		return heuristic;
+	}
+	
+	@Override
+	protected Queue<Tuple<E>> getTraversalQueue() {
+		return traversalQueue;
+	}
+	
+	private static class Entry<E> {
+		
+		private final Tuple<E> tuple;
+		private final int cost;
+		private final long sequence;
+		
+		private Entry(Tuple<E> tuple, int cost, long sequence) {
+			this.tuple = tuple;
+			this.cost = cost;
+			this.sequence = sequence;
+		}
+	}
+	
+	private static class EntryComparator<E> implements Comparator<Entry<E>> {
+		
+		@Override
+		public int compare(Entry<E> e1, Entry<E> e2) {
+			int result = Integer.compare(e1.cost, e2.cost);
+			if (result == 0) {
+				result = Integer.compare(e2.tuple.size(), e1.tuple.size());
+			}
+			return result != 0 ? result : Long.compare(e1.sequence, e2.sequence);
+		}
+	}
+	
+	/**
+	 * A priority queue of tuples, computing the estimate of each tuple only once.
+	 */
+	private class EstimateQueue extends AbstractQueue<Tuple<E>> {
+		
+		private final PriorityQueue<Entry<E>> queue;
+		private long sequence;
+		
+		private EstimateQueue() {
+			queue = new PriorityQueue<Entry<E>>(11, new EntryComparator<E>());
+		}
+		
+		@Override
+		@SuppressWarnings("unchecked")
+		public boolean offer(Tuple<E> tuple) {
+			int cost = tuple.size() + heuristic.estimate((T) tuple);
+			return queue.offer(new Entry<E>(tuple, cost, sequence++));
+		}
+		
+		@Override
+		public Tuple<E> poll() {
+			Entry<E> entry = queue.poll();
+			return entry == null ? null : entry.tuple;
+		}
+		
+		@Override
+		public Tuple<E> peek() {
+			Entry<E> entry = queue.peek();
+			return entry == null ? null : entry.tuple;
+		}
+		
+		@Override
+		public Iterator<Tuple<E>> iterator() {
+			final Iterator<Entry<E>> iterator = queue.iterator();
+			return new Iterator<Tuple<E>>() {
+				
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+				
+				@Override
+				public Tuple<E> next() {
+					return iterator.next().tuple;
+				}
+				
+				@Override
+				public void remove() {
+					iterator.remove();
+				}
+			};
+		}
+		
+		@Override
+		public int size() {
+			return queue.size();
+		}
+		
+		@Override
+		public void clear() {
+			queue.clear();
+			sequence = 0;
+		}
+	}
+}
@@ -1,13 +1,13 @@
 package backtrack;
 
 import java.awt.Color;
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Queue;
-import java.util.Set;
 
 /**
  * <p>
@@ -50,19 +50,38 @@ import java.util.Set;
 public abstract class Backtracker<T extends Tuple<E>, E> {
 
 	public static final int DEFAULT_MAX_VISITS = 100000;
+	public static final int DEFAULT_PROGRESS_INTERVAL = 1 << 16;
 	private static final Color NODE_COLOR = new Color(0xCCCCFF);
 	private static final Color SOLUTION_NODE_COLOR = new Color(0xFFCC00);
+	private static final int INITIAL_PARENTS_CAPACITY = 1 << 10;
 	
 	private T start;
 	private int maxVisits;
 	private int visitsCount;
 	private List<E> result;
-	private final Set<Tuple<E>> visitedSet;
+	private VisitedSet<E> visitedSet;
+	private boolean symmetryReduction;
+	private boolean compactPath;
+	private int[] parents;
+	private int[] elementCodes;
+	private int generation;
+	private Termination termination;
+	private long generatedCount;
+	private long duplicatesCount;
+	private int peakFrontierSize;
+	private int maxDepth;
+	private long elapsedNanos;
+	private SearchListener<E> listener;
+	private int progressInterval;
+	private SearchBudget budget;
+	private int budgetCountdown;
 	
 	public Backtracker() {
 		maxVisits = DEFAULT_MAX_VISITS;
 		visitsCount = -1;
-		visitedSet = new HashSet<Tuple<E>>();
+		visitedSet = new HashVisitedSet<E>();
+		listener = new NoOpSearchListener<E>();
+		progressInterval = DEFAULT_PROGRESS_INTERVAL;
 	}
 	
 	protected abstract Queue<Tuple<E>> getTraversalQueue();
@@ -83,59 +102,662 @@ public abstract class Backtracker<T extends Tuple<E>, E> {
 		return maxVisits;
 	}
 
+	/**
+	 * Sets the set used to record visited tuples. By default, visited tuples are
+	 * retained in a {@link HashVisitedSet}.
+	 * 
+	 * @param visitedSet the set used to record visited tuples
+	 */
+	public void setVisitedSet(VisitedSet<E> visitedSet) {
+		this.visitedSet = visitedSet;
+	}
+	
+	public VisitedSet<E> getVisitedSet() {
+		return visitedSet;
+	}
+	
+	/**
+	 * <p>
+	 * Sets the listener observing the traversal. By default, the events are ignored
+	 * by a {@link NoOpSearchListener}.
+	 * </p>
+	 * <p>
+	 * <b>Note:</b>
+	 * </p>
+	 * <p>
+	 * The listener is only notified by the traversal of the traversal queue, not by
+	 * the backtrackers with a traversal of their own (see {@link #isQueueTraversal()}).
+	 * Extensions skipped by a
+	 * {@link FingerprintVisitedSet} before being constructed are not reported as
+	 * duplicates.
+	 * </p>
+	 * 
+	 * @param listener the listener observing the traversal
+	 */
+	public void setListener(SearchListener<E> listener) {
+		this.listener = listener;
+	}
+	
+	public SearchListener<E> getListener() {
+		return listener;
+	}
+	
+	/**
+	 * Sets the number of visits between two progress reports to the listener.
+	 * 
+	 * @param progressInterval the number of visits between two progress reports
+	 * @see SearchListener#onProgress(int, int)
+	 */
+	public void setProgressInterval(int progressInterval) {
+		if (progressInterval <= 0) {
+			throw new IllegalArgumentException("Invalid progress interval " + progressInterval);
+		}
+		this.progressInterval = progressInterval;
+	}
+	
+	public int getProgressInterval() {
+		return progressInterval;
+	}
+	
+	/**
+	 * Enables or disables symmetry reduction. When enabled, the tuples implementing
+	 * {@link SymmetricTuple} are recorded in the visited set by their canonical
+	 * representative, so that symmetric tuples are visited only once. Symmetry
+	 * reduction is disabled by default.
+	 * 
+	 * @param symmetryReduction <code>true</code> to enable symmetry reduction
+	 */
+	public void setSymmetryReduction(boolean symmetryReduction) {
+		this.symmetryReduction = symmetryReduction;
+	}
+	
+	public boolean isSymmetryReduction() {
+		return symmetryReduction;
+	}
+	
+	/**
+	 * <p>
+	 * Enables or disables the compact path mode. When enabled, the visit ID of the
+	 * previous tuple and the code of the last element of each visited
+	 * {@link CompactTuple} are recorded in a table of <code>int</code>s indexed by
+	 * visit ID, and the tuple is then {@link CompactTuple#detach() detached} from its
+	 * previous tuple. The path to a solution is rebuilt from the table. Compact path
+	 * mode is disabled by default.
+	 * </p>
+	 * <p>
+	 * Visited tuples are still retained by a {@link HashVisitedSet}: use this mode
+	 * with a {@link FingerprintVisitedSet} so that tuples are discarded after their
+	 * expansion, at the cost of 8 bytes per visit for the table.
+	 * </p>
+	 * <p>
+	 * <b>Note:</b>
+	 * </p>
+	 * <p>
+	 * As detached tuples have no previous tuple, only the last tuple of a solution
+	 * is marked as part of it, and {@link #writeGraph(GraphFormat)} writes no edges.
+	 * </p>
+	 * 
+	 * @param compactPath <code>true</code> to enable the compact path mode
+	 */
+	public void setCompactPath(boolean compactPath) {
+		this.compactPath = compactPath;
+	}
+	
+	public boolean isCompactPath() {
+		return compactPath;
+	}
+	
 	public int getVisitsCount() {
 		return visitsCount;
 	}
 	
 	public List<E> solve() {
-		return solve(start);
+		List<E> result = solve(start);
+		endTraversal();
+		return result;
+	}
+	
+	/**
+	 * <p>
+	 * Enumerates the solutions in the order in which they are found, in a single
+	 * traversal. Each solution is passed to the handler, and the traversal stops
+	 * once the handler returns <code>false</code>, or once all the tuples are visited
+	 * or the maximum number of visits is reached.
+	 * </p>
+	 * <p>
+	 * As a tuple is visited at most once, each solution tuple is found once, along
+	 * the path it was first reached with. Solutions are not extended.
+	 * </p>
+	 * 
+	 * @param handler the handler of the solutions
+	 * @return the number of solutions found
+	 * @throws IllegalStateException if this backtracker has a traversal of its own
+	 * @see #isQueueTraversal()
+	 */
+	public int solve(SolutionHandler<E> handler) {
+		return solve(start, handler);
+	}
+	
+	/**
+	 * Returns the first solutions found, up to a maximum number.
+	 * 
+	 * @param maxSolutions the maximum number of solutions
+	 * @return the paths to the solutions, in the order in which they were found
+	 * @see #solve(SolutionHandler)
+	 */
+	public List<List<E>> solve(final int maxSolutions) {
+		final List<List<E>> result = new ArrayList<List<E>>();
+		if (maxSolutions > 0) {
+			solve(new SolutionHandler<E>() {
+				
+				@Override
+				public boolean handle(List<E> solution) {
+					result.add(solution);
+					return result.size() < maxSolutions;
+				}
+			});
+		}
+		return result;
+	}
+	
+	/**
+	 * <p>
+	 * Starts a computation that is suspended after a maximum number of visits, and
+	 * that can then be resumed where it left off with {@link SearchProgress#resume(int)}.
+	 * The traversal queue and the visited set are retained while the computation is
+	 * suspended.
+	 * </p>
+	 * 
+	 * @param visits the maximum number of visits before the computation is suspended
+	 * @return the progress of the computation
+	 * @throws IllegalStateException if this backtracker has a traversal of its own
+	 * @see #isQueueTraversal()
+	 */
+	public SearchProgress<E> solveFor(int visits) {
+		checkQueueTraversal();
+		begin(start);
+		SearchProgress<E> result = new SearchProgress<E>(this, generation);
+		result.resume(visits);
+		return result;
+	}
+	
+	/**
+	 * Resumes a computation started by {@link #solveFor(int)}.
+	 * 
+	 * @param generation the generation of the computation
+	 * @param visits the maximum number of visits before the computation is suspended again
+	 * @return <code>true</code> if the computation is completed, <code>false</code> otherwise
+	 * @throws IllegalStateException if another computation was started since
+	 */
+	boolean resume(int generation, int visits) {
+		if (generation != this.generation) {
+			throw new IllegalStateException("Another computation was started");
+		}
+		if (result == null) {
+			traverse(new FirstSolutionHandler<E>(), (int) Math.min((long) visitsCount + visits, Integer.MAX_VALUE), null);
+		}
+		return termination != Termination.SUSPENDED;
+	}
+	
+	/**
+	 * <p>
+	 * Writes a checkpoint of the current computation, typically one suspended by
+	 * {@link #solveFor(int)}, from which it can be resumed with {@link #restore(File)},
+	 * possibly by another backtracker in another process.
+	 * </p>
+	 * <p>
+	 * The checkpoint contains the traversal queue, the visited set, the visits count
+	 * and the parent table of the compact path mode, but not the last solution found.
+	 * Tuples are written as the codes of their elements, so they must implement
+	 * {@link CompactTuple}. The visited set must either be iterable or be a
+	 * {@link FingerprintVisitedSet}.
+	 * </p>
+	 * 
+	 * @param file the file to write the checkpoint to
+	 * @throws IOException if the checkpoint cannot be written
+	 * @throws IllegalStateException if a tuple does not implement {@link CompactTuple},
+	 * or if this backtracker has a traversal of its own
+	 */
+	public void checkpoint(File file) throws IOException {
+		checkQueueTraversal();
+		SearchCheckpoint.write(this, file);
+	}
+	
+	/**
+	 * <p>
+	 * Restores a computation from a checkpoint written by {@link #checkpoint(File)}, and
+	 * suspends it.
+	 * </p>
+	 * <p>
+	 * The tuples are restored by extending the start tuple of this backtracker, which
+	 * must be equal to the one of the checkpointed computation. The visited set must be
+	 * of the same kind, and the compact path mode must be the same.
+	 * </p>
+	 * 
+	 * @param file the file to read the checkpoint from
+	 * @return the progress of the restored computation
+	 * @throws IOException if the checkpoint cannot be read
+	 * @throws IllegalStateException if the checkpoint does not match this backtracker,
+	 * or if this backtracker has a traversal of its own
+	 */
+	public SearchProgress<E> restore(File file) throws IOException {
+		checkQueueTraversal();
+		getTraversalQueue().clear();
+		reset();
+		restoreTraversalQueue(SearchCheckpoint.read(this, file));
+		return new SearchProgress<E>(this, generation);
+	}
+	
+	/**
+	 * Adds the tuples of a restored traversal queue, in the order in which the
+	 * traversal queue iterated them when it was checkpointed. By default, the tuples
+	 * are added in that order.
+	 * 
+	 * @param tuples the tuples of the traversal queue
+	 */
+	protected void restoreTraversalQueue(List<Tuple<E>> tuples) {
+		getTraversalQueue().addAll(tuples);
+	}
+	
+	void restoreState(int visitsCount, int[] parents, int[] elementCodes) {
+		this.visitsCount = visitsCount;
+		if (parents != null) {
+			this.parents = Arrays.copyOf(parents, Math.max(parents.length, INITIAL_PARENTS_CAPACITY));
+			this.elementCodes = Arrays.copyOf(elementCodes, Math.max(elementCodes.length, INITIAL_PARENTS_CAPACITY));
+		}
+	}
+	
+	int[] getParents() {
+		return parents;
+	}
+	
+	int[] getElementCodes() {
+		return elementCodes;
+	}
+	
+	/**
+	 * Computes a solution within a budget. Backtrackers with a traversal of their own
+	 * check the budget with {@link #isBudgetExceeded(int)} and {@link #getVisitsLimit()}.
+	 * 
+	 * @param budget the budget of the computation
+	 * @return the outcome of the computation
+	 */
+	public SearchResult<E> solve(SearchBudget budget) {
+		if (isQueueTraversal()) {
+			begin(start);
+			traverse(new FirstSolutionHandler<E>(), Integer.MAX_VALUE, budget);
+		} else {
+			this.budget = budget;
+			try {
+				solve(start);
+				endTraversal();
+			} finally {
+				this.budget = null;
+			}
+		}
+		return getSearchResult();
+	}
+	
+	protected List<E> solve(T start) {
+		solve(start, new FirstSolutionHandler<E>());
+		return result;
+	}
+	
+	protected int solve(T start, SolutionHandler<E> handler) {
+		checkQueueTraversal();
+		begin(start);
+		return traverse(handler, Integer.MAX_VALUE, null);
+	}
+	
+	/**
+	 * <p>
+	 * Indicates whether this backtracker visits the tuples with its
+	 * {@link #getTraversalQueue() traversal queue}, which is the case by default.
+	 * </p>
+	 * <p>
+	 * The subclasses with a traversal of their own, overriding {@link #solve(Tuple)},
+	 * return <code>false</code>. As the enumeration of solutions, the suspended
+	 * computations and their checkpoints rely on the traversal queue, they are not
+	 * supported by such backtrackers, which only support budgets.
+	 * </p>
+	 * 
+	 * @return <code>true</code> if this backtracker visits the tuples with its
+	 * traversal queue
+	 */
+	public boolean isQueueTraversal() {
+		return true;
+	}
+	
+	private void checkQueueTraversal() {
+		if (!isQueueTraversal()) {
+			throw new IllegalStateException(getClass().getSimpleName() + " has a traversal of its own");
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Checks the limits of the budget of the current computation, except for the
+	 * maximum number of visits (see {@link #getVisitsLimit()}). Once a limit is
+	 * reached, it is reported by {@link #getTermination()}.
+	 * </p>
+	 * <p>
+	 * Subclasses with a traversal of their own call this method between the steps of
+	 * their traversal, such as visits or levels. As with the traversal queue, the
+	 * limits are only checked once every {@link SearchBudget#getCheckInterval() check
+	 * interval} steps, a level counting as many steps as its tuples.
+	 * </p>
+	 * 
+	 * @param steps the number of steps since the last call
+	 * @return <code>true</code> if a limit was reached and the traversal must stop,
+	 * <code>false</code> otherwise
+	 */
+	protected boolean isBudgetExceeded(int steps) {
+		if (termination == null && budget != null) {
+			budgetCountdown -= steps;
+			if (budgetCountdown <= 0) {
+				budgetCountdown = budget.getCheckInterval();
+				termination = budget.check();
+			}
+		}
+		return termination != null;
+	}
+	
+	/**
+	 * Returns the maximum number of visits of the current computation, which is the
+	 * least of the maximum number of visits of this backtracker and of its budget.
+	 * 
+	 * @return the maximum number of visits of the current computation
+	 */
+	protected int getVisitsLimit() {
+		return budget == null ? maxVisits : Math.min(maxVisits, budget.getMaxVisits());
+	}
+	
+	/**
+	 * Reports the end of a traversal of its own that was not stopped by the budget.
+	 */
+	private void endTraversal() {
+		if (termination == null && !isQueueTraversal()) {
+			termination = result != null ? Termination.SOLVED :
+					visitsCount >= getVisitsLimit() ? Termination.MAX_VISITS : Termination.EXHAUSTED;
+		}
 	}
 	
-	private List<E> solve(T start) {
+	private void begin(T start) {
 		Queue<Tuple<E>> traversalQueue = getTraversalQueue();
 		traversalQueue.clear();
-		visitedSet.clear();
-		visitsCount = 0;
+		reset();
 		traversalQueue.add(start);
-		while (!traversalQueue.isEmpty() && visitsCount < maxVisits) {
-			Tuple<E> current = traversalQueue.poll();
-			if (!visitedSet.contains(current)) {
-				// Mark as visited
-				visitsCount++;
-				visitedSet.add(current);
-				current.setVisitId(visitsCount);
-				// Continue
-				if (!current.isSolution()) {
-					for (Tuple<E> next : current.next()) {
-						traversalQueue.add(next);
+		generatedCount = 1;
+		peakFrontierSize = 1;
+	}
+	
+	/**
+	 * Visits the tuples of the traversal queue until the traversal ends or is suspended.
+	 * 
+	 * @param handler the handler of the solutions
+	 * @param suspendedVisits the visits count at which the traversal is suspended
+	 * @param budget the budget of the traversal, or <code>null</code>
+	 * @return the number of solutions found
+	 */
+	private int traverse(SolutionHandler<E> handler, int suspendedVisits, SearchBudget budget) {
+		Queue<Tuple<E>> traversalQueue = getTraversalQueue();
+		int maxVisits = budget == null ? this.maxVisits : Math.min(this.maxVisits, budget.getMaxVisits());
+		int solutionsCount = 0;
+		int countdown = 1;
+		long startNanos = System.nanoTime();
+		termination = null;
+		while (termination == null) {
+			if (budget != null && --countdown == 0) {
+				countdown = budget.getCheckInterval();
+				termination = budget.check();
+			}
+			if (termination == null) {
+				if (traversalQueue.isEmpty()) {
+					termination = Termination.EXHAUSTED;
+				} else if (visitsCount >= maxVisits) {
+					termination = Termination.MAX_VISITS;
+				} else if (visitsCount >= suspendedVisits) {
+					termination = Termination.SUSPENDED;
+				} else {
+					Tuple<E> current = traversalQueue.poll();
+					if (visit(current, traversalQueue)) {
+						solutionsCount++;
+						if (!handler.handle(accept(current))) {
+							termination = Termination.SOLVED;
+						}
+					}
+				}
+			}
+		}
+		elapsedNanos += System.nanoTime() - startNanos;
+		return solutionsCount;
+	}
+	
+	/**
+	 * Visits a tuple, unless it was already visited.
+	 * 
+	 * @return <code>true</code> if the tuple was visited and is a solution
+	 */
+	private boolean visit(Tuple<E> current, Queue<Tuple<E>> traversalQueue) {
+		boolean result = false;
+		Tuple<E> key = visitedKey(current);
+		if (visitedSet.add(key)) {
+			// Mark as visited
+			markVisited(current);
+			key.setVisitId(current.getVisitId());
+			listener.onVisit(current);
+			if (current.size() > maxDepth) {
+				maxDepth = current.size();
+			}
+			// Continue
+			if (!current.isSolution()) {
+				if (isExtensible(current)) {
+					listener.onExpand(current, expand(current, traversalQueue));
+					if (traversalQueue.size() > peakFrontierSize) {
+						peakFrontierSize = traversalQueue.size();
 					}
+				}
+			} else {
+				listener.onSolution(current);
+				result = true;
+			}
+			if (visitsCount % progressInterval == 0) {
+				listener.onProgress(visitsCount, traversalQueue.size());
+			}
+		} else {
+			duplicatesCount++;
+			listener.onDuplicate(current);
+		}
+		return result;
+	}
+	
+	/**
+	 * Indicates whether a visited tuple that is not a solution is extended.
+	 * 
+	 * @param tuple the visited tuple
+	 * @return <code>true</code> if the tuple is extended, which is always the case
+	 * by default
+	 */
+	protected boolean isExtensible(Tuple<E> tuple) {
+		return true;
+	}
+	
+	/**
+	 * Adds the extensions of a tuple to the traversal queue.
+	 * 
+	 * @return the number of extensions added to the traversal queue
+	 */
+	private int expand(Tuple<E> current, Queue<Tuple<E>> traversalQueue) {
+		int result = 0;
+		if (current instanceof LazyTuple && visitedSet instanceof FingerprintVisitedSet) {
+			FingerprintVisitedSet<E> fingerprints = (FingerprintVisitedSet<E>) visitedSet;
+			LazyTuple.Expansion<E> expansion = ((LazyTuple<E>) current).expand();
+			for (int i = 0; i < expansion.size(); i++) {
+				// Skip visited extensions before constructing them
+				long fingerprint = expansion.fingerprint(i);
+				if (!fingerprints.contains(fingerprint)) {
+					traversalQueue.add(expansion.get(i));
+					result++;
 				} else {
-					updateSolutionPath(current);
-					result = path(current);
-					break;
+					duplicatesCount++;
+					listener.onDuplicate(current, fingerprint);
 				}
 			}
+		} else {
+			for (Tuple<E> next : current.next()) {
+				traversalQueue.add(next);
+				result++;
+			}
+		}
+		generatedCount += result;
+		return result;
+	}
+	
+	/**
+	 * Returns the tuple by which a tuple is recorded in the visited set: its canonical
+	 * representative if symmetry reduction is enabled, the tuple itself otherwise.
+	 * 
+	 * @param tuple the tuple to record
+	 * @return the tuple to add to the visited set
+	 */
+	protected Tuple<E> visitedKey(Tuple<E> tuple) {
+		Tuple<E> result = tuple;
+		if (symmetryReduction && tuple instanceof SymmetricTuple) {
+			result = ((SymmetricTuple<E>) tuple).canonicalize();
 		}
 		return result;
 	}
 	
+	/**
+	 * Clears the state of the last computation before starting a new one.
+	 */
+	protected void reset() {
+		visitedSet.clear();
+		visitsCount = 0;
+		generation++;
+		termination = null;
+		generatedCount = 0;
+		duplicatesCount = 0;
+		peakFrontierSize = 0;
+		maxDepth = 0;
+		elapsedNanos = 0;
+		budgetCountdown = 0;
+		result = null;
+		parents = compactPath ? new int[INITIAL_PARENTS_CAPACITY] : null;
+		elementCodes = compactPath ? new int[INITIAL_PARENTS_CAPACITY] : null;
+	}
+	
+	/**
+	 * Assigns the next visit ID to a tuple. The tuple is expected to have already
+	 * been added to the visited set.
+	 * 
+	 * @param tuple the visited tuple
+	 */
+	protected void markVisited(Tuple<E> tuple) {
+		visitsCount++;
+		tuple.setVisitId(visitsCount);
+		if (compactPath && tuple instanceof CompactTuple) {
+			recordParent((CompactTuple<E>) tuple);
+		}
+	}
+	
+	private void recordParent(CompactTuple<E> tuple) {
+		int visitId = tuple.getVisitId();
+		if (visitId >= parents.length) {
+			int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(visitId + 1L, parents.length * 2L));
+			parents = Arrays.copyOf(parents, capacity);
+			elementCodes = Arrays.copyOf(elementCodes, capacity);
+		}
+		Tuple<E> previous = tuple.previous();
+		parents[visitId] = previous == null ? 0 : previous.getVisitId();
+		elementCodes[visitId] = tuple.lastElementCode();
+		tuple.detach();
+	}
+	
+	/**
+	 * Accepts a tuple as the solution of the current computation.
+	 * 
+	 * @param solution the solution
+	 * @return the path to the solution
+	 */
+	protected List<E> accept(Tuple<E> solution) {
+		return accept(solution, path(solution));
+	}
+	
+	/**
+	 * Accepts a path as the solution of the current computation.
+	 * 
+	 * @param last the last tuple of the path constructed by the backtracker
+	 * @param path the path to the solution
+	 * @return the path to the solution
+	 */
+	protected List<E> accept(Tuple<E> last, List<E> path) {
+		updateSolutionPath(last);
+		result = path;
+		return result;
+	}
+	
 	private void updateSolutionPath(Tuple<E> solution) {
 		do {
 			solution.setPartOfSolution(true);
 		} while ((solution = solution.previous()) != null);
 	}
 	
-	private List<E> path(Tuple<E> last) {
+	protected List<E> path(Tuple<E> last) {
 		List<E> result = new ArrayList<E>();
-		E element;
-		while (last != null && (element = last.lastElement()) != null) {
-			result.add(element);
-			last = last.previous();
+		if (compactPath && last instanceof CompactTuple) {
+			CompactTuple<E> decoder = (CompactTuple<E>) last;
+			for (int visitId = last.getVisitId(); visitId > 0 && elementCodes[visitId] != CompactTuple.NO_ELEMENT;
+					visitId = parents[visitId]) {
+				result.add(decoder.element(elementCodes[visitId]));
+			}
+		} else {
+			E element;
+			while (last != null && (element = last.lastElement()) != null) {
+				result.add(element);
+				last = last.previous();
+			}
 		}
 		Collections.reverse(result);
 		return result;
 	}
 	
+	/**
+	 * Returns the reason why the last computation ended.
+	 * 
+	 * @return the reason why the last computation ended
+	 */
+	public Termination getTermination() {
+		return termination;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the outcome of the last computation, with the statistics of its
+	 * traversal.
+	 * </p>
+	 * <p>
+	 * <b>Note:</b>
+	 * </p>
+	 * <p>
+	 * Apart from the visits count, the statistics are only gathered by the
+	 * traversal of the traversal queue, not by the backtrackers with a traversal
+	 * of their own (see {@link #isQueueTraversal()}).
+	 * </p>
+	 * 
+	 * @return the outcome of the last computation
+	 */
+	public SearchResult<E> getSearchResult() {
+		return new SearchResult<E>(result, termination, visitsCount, generatedCount,
+				duplicatesCount, peakFrontierSize, maxDepth, elapsedNanos);
+	}
+	
+	/**
+	 * Returns the last solution found by the last computation.
+	 * 
+	 * @return the path to the last solution found, or <code>null</code> if no
+	 * solution was found
+	 */
 	public List<E> getResult() {
 		return result;
 	}
@@ -146,7 +768,7 @@ public abstract class Backtracker<T extends Tuple<E>, E> {
 		graphFormat.close();
 	}
 	
-	private void writeGraph(GraphFormat graphFormat, Set<Tuple<E>> visitedSet) throws IOException {
+	private void writeGraph(GraphFormat graphFormat, VisitedSet<E> visitedSet) throws IOException {
 		for (Tuple<E> tuple : visitedSet) {
 			writeGraphNode(graphFormat, tuple);
 		}
@@ -161,4 +783,12 @@ public abstract class Backtracker<T extends Tuple<E>, E> {
 			}
 		}
 	}
+	
+	private static class FirstSolutionHandler<E> implements SolutionHandler<E> {
+		
+		@Override
+		public boolean handle(List<E> solution) {
+			return false;
+		}
+	}
 }
@@ -1,18 +1,63 @@
 package backtrack;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 
 public class BfsBacktracker<T extends Tuple<E>, E> extends Backtracker<T, E> {
 
 	private final Queue<Tuple<E>> traversalQueue;
+	private int shortestSize;
 	
 	public BfsBacktracker() {
 		traversalQueue = new ArrayDeque<Tuple<E>>();
+		shortestSize = Integer.MAX_VALUE;
 	}
 	
 	@Override
 	protected Queue<Tuple<E>> getTraversalQueue() {
 		return traversalQueue;
 	}
+	
+	/**
+	 * <p>
+	 * Returns all the shortest solutions, in a single traversal.
+	 * </p>
+	 * <p>
+	 * As tuples are visited in order of size, once a solution is found, the tuples of
+	 * the same size are visited without being extended. The extensions already in the
+	 * traversal queue are still visited, so the traversal stops at the first longer
+	 * solution, which is discarded.
+	 * </p>
+	 * 
+	 * @return the paths to the shortest solutions, which is empty if no solution was
+	 * found
+	 * @see #solve(SolutionHandler)
+	 */
+	public List<List<E>> solveShortest() {
+		final List<List<E>> result = new ArrayList<List<E>>();
+		try {
+			solve(new SolutionHandler<E>() {
+				
+				@Override
+				public boolean handle(List<E> solution) {
+					boolean shortest = solution.size() <= shortestSize;
+					if (shortest) {
+						result.add(solution);
+						shortestSize = solution.size();
+					}
+					return shortest;
+				}
+			});
+		} finally {
+			shortestSize = Integer.MAX_VALUE;
+		}
+		return result;
+	}
+	
+	@Override
+	protected boolean isExtensible(Tuple<E> tuple) {
+		return tuple.size() < shortestSize;
+	}
 }
@@ -0,0 +1,147 @@
+package backtrack;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * A breadth-first backtracker searching simultaneously forwards from the start and
+ * backwards from a known goal, until the two searches meet.
+ * </p>
+ * <p>
+ * At each step, the smaller of the two frontiers is expanded by one level, via
+ * {@link Tuple#next()} for the forward search and {@link ReversibleTuple#predecessors()}
+ * for the backward one. Once a level meets the other search, the shortest of the
+ * paths through the meeting tuples of that level is returned, which is as short as
+ * the one found by a {@link BfsBacktracker}. The goal is defined by equality with
+ * the goal tuple, rather than by {@link Tuple#isSolution()}, so the goal must be a
+ * complete state, equal to the last tuple of the solutions.
+ * </p>
+ * <p>
+ * The {@link #setMaxVisits(int) maximum number of visits} is only checked between
+ * levels, so that a meeting is always the shortest of its level: the last level
+ * may exceed it. The other limits of a budget are checked within levels, and a
+ * level they cut short yields no solution.
+ * </p>
+ * <p>
+ * If no goal is set, the search is a plain breadth-first search. The
+ * {@link #setCompactPath(boolean) compact path mode} is only supported in this case,
+ * as the backward path is rebuilt from the previous tuples.
+ * </p>
+ * 
+ * @param <E> the type of elements of the tuples
+ */
+public class BidirectionalBfsBacktracker<T extends ReversibleTuple<E>, E> extends BfsBacktracker<T, E> {
+
+	private T goal;
+	
+	public void setGoal(T goal) {
+		this.goal = goal;
+	}
+	
+	public T getGoal() {
+		return goal;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @return <code>true</code> if no goal is set, in which case the search is a plain
+	 * breadth-first search
+	 */
+	@Override
+	public boolean isQueueTraversal() {
+		return goal == null;
+	}
+	
+	@Override
+	protected List<E> solve(T start) {
+		List<E> result;
+		if (goal == null) {
+			result = super.solve(start);
+		} else {
+			result = solve(start, goal);
+		}
+		return result;
+	}
+	
+	private List<E> solve(T start, T goal) {
+		if (isCompactPath()) {
+			throw new IllegalStateException("Compact path mode is not supported with a goal");
+		}
+		reset();
+		List<E> result = null;
+		Map<Tuple<E>, Tuple<E>> forwardVisited = new HashMap<Tuple<E>, Tuple<E>>();
+		Map<Tuple<E>, Tuple<E>> backwardVisited = new HashMap<Tuple<E>, Tuple<E>>();
+		List<Tuple<E>> forwardLevel = new ArrayList<Tuple<E>>();
+		List<Tuple<E>> backwardLevel = new ArrayList<Tuple<E>>();
+		visit(start, forwardVisited, forwardLevel);
+		if (start.equals(goal)) {
+			result = accept(start);
+		} else {
+			visit(goal, backwardVisited, backwardLevel);
+		}
+		while (result == null && !forwardLevel.isEmpty() && !backwardLevel.isEmpty() &&
+				getVisitsCount() < getVisitsLimit() && !isBudgetExceeded(0)) {
+			if (forwardLevel.size() <= backwardLevel.size()) {
+				forwardLevel = expand(forwardLevel, true, forwardVisited, backwardVisited);
+			} else {
+				backwardLevel = expand(backwardLevel, false, backwardVisited, forwardVisited);
+			}
+			result = getResult();
+		}
+		return result;
+	}
+	
+	private List<Tuple<E>> expand(List<Tuple<E>> level, boolean forward,
+			Map<Tuple<E>, Tuple<E>> visited, Map<Tuple<E>, Tuple<E>> otherVisited) {
+		List<Tuple<E>> result = new ArrayList<Tuple<E>>();
+		Tuple<E> forwardMeeting = null;
+		Tuple<E> backwardMeeting = null;
+		for (int i = 0; i < level.size() && !isBudgetExceeded(1); i++) {
+			Tuple<E> current = level.get(i);
+			List<Tuple<E>> children = forward ? current.next() : ((ReversibleTuple<E>) current).predecessors();
+			for (Tuple<E> child : children) {
+				if (!visited.containsKey(child)) {
+					visit(child, visited, result);
+					Tuple<E> other = otherVisited.get(child);
+					if (other != null && (forwardMeeting == null ||
+							child.size() + other.size() < forwardMeeting.size() + backwardMeeting.size())) {
+						forwardMeeting = forward ? child : other;
+						backwardMeeting = forward ? other : child;
+					}
+				}
+			}
+		}
+		// A level cut short by the budget may miss a shorter meeting
+		if (forwardMeeting != null && getTermination() == null) {
+			accept(forwardMeeting, backwardMeeting);
+		}
+		return result;
+	}
+	
+	private void visit(Tuple<E> tuple, Map<Tuple<E>, Tuple<E>> visited, List<Tuple<E>> level) {
+		visited.put(tuple, tuple);
+		getVisitedSet().add(tuple);
+		markVisited(tuple);
+		level.add(tuple);
+	}
+	
+	private void accept(Tuple<E> forwardMeeting, Tuple<E> backwardMeeting) {
+		List<E> path = path(forwardMeeting);
+		ReversibleTuple<E> translator = (ReversibleTuple<E>) forwardMeeting;
+		Tuple<E> current = backwardMeeting;
+		E element;
+		while (current != null && (element = current.lastElement()) != null) {
+			current.setPartOfSolution(true);
+			path.add(translator.translate(element, backwardMeeting));
+			current = current.previous();
+		}
+		if (current != null) {
+			current.setPartOfSolution(true);
+		}
+		accept(forwardMeeting, path);
+	}
+}
@@ -0,0 +1,45 @@
+package backtrack;
+
+/**
+ * <p>
+ * A tuple whose elements can be encoded as non-negative <code>int</code>s, and
+ * which can release its previous tuple once visited.
+ * </p>
+ * <p>
+ * When the compact path mode of a {@link Backtracker} is enabled, the visit ID of
+ * the previous tuple and the code of the last element of each visited tuple are
+ * recorded in primitive arrays, and the tuple is then detached from its previous
+ * tuple, so that the traversal graph is not retained through the previous tuples.
+ * The path to a solution is rebuilt from the recorded codes.
+ * </p>
+ * 
+ * @param <E> the type of elements of this tuple
+ * @see Backtracker#setCompactPath(boolean)
+ */
+public interface CompactTuple<E> extends Tuple<E> {
+	
+	public static final int NO_ELEMENT = -1;
+	
+	/**
+	 * Returns the code of the last element that was used to construct this tuple.
+	 * 
+	 * @return the code of the last element that was used to construct this tuple,
+	 * or {@link #NO_ELEMENT} if this is the empty tuple
+	 */
+	public int lastElementCode();
+	
+	/**
+	 * Decodes an element.
+	 * 
+	 * @param code the code of an element, as returned by {@link #lastElementCode()}
+	 * @return the element
+	 */
+	public E element(int code);
+	
+	/**
+	 * Releases the reference of this tuple to its previous tuple. Afterwards,
+	 * {@link #previous()} returns <code>null</code>, while {@link #size()} and
+	 * {@link #lastElement()} are unchanged.
+	 */
+	public void detach();
+}
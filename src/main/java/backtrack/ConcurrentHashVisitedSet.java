@@ -0,0 +1,47 @@
+package backtrack;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe {@link VisitedSet} backed by a {@link ConcurrentHashMap}. Tuples
+ * are compared via their <code>equals(Object)</code> and <code>hashCode()</code>
+ * methods and are retained.
+ * 
+ * @param <E> the type of elements of the tuples
+ */
+public class ConcurrentHashVisitedSet<E> implements VisitedSet<E> {
+
+	private final Set<Tuple<E>> set;
+	
+	public ConcurrentHashVisitedSet() {
+		set = Collections.newSetFromMap(new ConcurrentHashMap<Tuple<E>, Boolean>());
+	}
+	
+	@Override
+	public boolean add(Tuple<E> tuple) {
+		return set.add(tuple);
+	}
+	
+	@Override
+	public boolean contains(Tuple<E> tuple) {
+		return set.contains(tuple);
+	}
+	
+	@Override
+	public int size() {
+		return set.size();
+	}
+	
+	@Override
+	public void clear() {
+		set.clear();
+	}
+	
+	@Override
+	public Iterator<Tuple<E>> iterator() {
+		return set.iterator();
+	}
+}
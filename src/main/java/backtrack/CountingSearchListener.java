@@ -0,0 +1,107 @@
+package backtrack;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * A {@link SearchListener} counting the events. The counters can be read from any
+ * thread while traversals are running, and the same listener can be shared by
+ * several backtrackers to aggregate their counts.
+ * </p>
+ * 
+ * @param <E> the type of elements of the tuples
+ */
+public class CountingSearchListener<E> implements SearchListener<E> {
+	
+	private final LongAdder visits;
+	private final LongAdder duplicates;
+	private final LongAdder expansions;
+	private final LongAdder extensions;
+	private final LongAdder solutions;
+	private volatile int frontierSize;
+	
+	public CountingSearchListener() {
+		visits = new LongAdder();
+		duplicates = new LongAdder();
+		expansions = new LongAdder();
+		extensions = new LongAdder();
+		solutions = new LongAdder();
+	}
+	
+	@Override
+	public void onVisit(Tuple<E> tuple) {
+		visits.increment();
+	}
+	
+	@Override
+	public void onDuplicate(Tuple<E> tuple) {
+		duplicates.increment();
+	}
+	
+	@Override
+	public void onDuplicate(Tuple<E> tuple, long fingerprint) {
+		duplicates.increment();
+	}
+	
+	@Override
+	public void onExpand(Tuple<E> tuple, int extensionsCount) {
+		expansions.increment();
+		extensions.add(extensionsCount);
+	}
+	
+	@Override
+	public void onSolution(Tuple<E> tuple) {
+		solutions.increment();
+	}
+	
+	@Override
+	public void onProgress(int visitsCount, int frontierSize) {
+		this.frontierSize = frontierSize;
+	}
+	
+	public LongAdder getVisits() {
+		return visits;
+	}
+	
+	public LongAdder getDuplicates() {
+		return duplicates;
+	}
+	
+	public LongAdder getExpansions() {
+		return expansions;
+	}
+	
+	/**
+	 * Returns the number of tuples added to the traversal queue by the expansions.
+	 * 
+	 * @return the number of tuples added to the traversal queue by the expansions
+	 */
+	public LongAdder getExtensions() {
+		return extensions;
+	}
+	
+	public LongAdder getSolutions() {
+		return solutions;
+	}
+	
+	/**
+	 * Returns the size of the traversal queue at the last progress report.
+	 * 
+	 * @return the size of the traversal queue at the last progress report
+	 */
+	public int getFrontierSize() {
+		return frontierSize;
+	}
+	
+	/**
+	 * Resets all the counters.
+	 */
+	public void reset() {
+		visits.reset();
+		duplicates.reset();
+		expansions.reset();
+		extensions.reset();
+		solutions.reset();
+		frontierSize = 0;
+	}
+}
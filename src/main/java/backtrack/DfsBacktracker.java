@@ -1,5 +1,6 @@
 package backtrack;
 
+import java.util.List;
 import java.util.Queue;
 
 public class DfsBacktracker<T extends Tuple<E>, E> extends Backtracker<T, E> {
@@ -14,4 +15,19 @@ public class DfsBacktracker<T extends Tuple<E>, E> extends Backtracker<T, E> {
 	protected Queue<Tuple<E>> getTraversalQueue() {
 		return traversalQueue;
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>
+	 * As the traversal queue is a stack iterated from its top, the tuples are added
+	 * in reverse order.
+	 * </p>
+	 */
+	@Override
+	protected void restoreTraversalQueue(List<Tuple<E>> tuples) {
+		for (int i = tuples.size() - 1; i >= 0; i--) {
+			traversalQueue.add(tuples.get(i));
+		}
+	}
 }
@@ -0,0 +1,443 @@
+package backtrack;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * <p>
+ * A breadth-first backtracker keeping its levels and its visited tuples on disk
+ * rather than on heap.
+ * </p>
+ * <p>
+ * Tuples are stored as fixed-size records encoded by a {@link TupleCodec}, and each
+ * level of the traversal is a file of sorted records. The tuples of a level are
+ * decoded and expanded one at a time, and the records of their extensions are
+ * buffered, sorted and written to disk as runs of at most {@link #setRunSize(int) run
+ * size} records. Duplicates are detected only once the whole level is expanded: the
+ * runs are merged with the sorted file of the visited records, the records that were
+ * not visited form the next level, and the new visited file is written in the same
+ * pass. Files are read through memory mappings.
+ * </p>
+ * <p>
+ * Heap usage is thus bounded by the run size, whatever the number of visited tuples,
+ * at the cost of rewriting the visited file at each level. Once a solution is found,
+ * the levels are scanned backwards for a tuple extended to the next tuple of the path,
+ * and the path is replayed from the start tuple.
+ * </p>
+ * <p>
+ * <b>Note:</b>
+ * </p>
+ * <p>
+ * Tuples are compared by their records, the visited set is not used, and
+ * {@link #writeGraph(GraphFormat)} writes an empty graph. The files are written in a
+ * temporary directory, which is deleted at the end of the computation.
+ * </p>
+ * 
+ * @param <E> the type of elements of the tuples
+ */
+public class ExternalBfsBacktracker<T extends Tuple<E>, E> extends BfsBacktracker<T, E> {
+	
+	public static final int DEFAULT_RUN_SIZE = 1 << 20;
+	private static final int WINDOW_RECORDS = 1 << 20;
+	
+	private final TupleCodec<T, E> codec;
+	private File directory;
+	private int runSize;
+	
+	public ExternalBfsBacktracker(TupleCodec<T, E> codec) {
+		this.codec = codec;
+		runSize = DEFAULT_RUN_SIZE;
+	}
+	
+	public TupleCodec<T, E> getCodec() {
+		return codec;
+	}
+	
+	/**
+	 * Sets the directory in which the temporary directory of each computation is
+	 * created. By default, it is the default temporary-file directory.
+	 * 
+	 * @param directory the parent directory of the temporary files, or <code>null</code>
+	 * for the default temporary-file directory
+	 */
+	public void setDirectory(File directory) {
+		this.directory = directory;
+	}
+	
+	public File getDirectory() {
+		return directory;
+	}
+	
+	/**
+	 * Sets the maximum number of records sorted in memory before being written to
+	 * disk.
+	 * 
+	 * @param runSize the maximum number of records of a run
+	 */
+	public void setRunSize(int runSize) {
+		this.runSize = runSize;
+	}
+	
+	public int getRunSize() {
+		return runSize;
+	}
+	
+	@Override
+	public boolean isQueueTraversal() {
+		return false;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws IllegalStateException if the temporary files cannot be written or read
+	 */
+	@Override
+	protected List<E> solve(T start) {
+		reset();
+		File workDirectory = null;
+		try {
+			workDirectory = directory == null ?
+					Files.createTempDirectory("bfs").toFile() : Files.createTempDirectory(directory.toPath(), "bfs").toFile();
+			return search(start, workDirectory);
+		} catch (IOException e) {
+			throw new IllegalStateException("External search failed", e);
+		} finally {
+			delete(workDirectory);
+		}
+	}
+	
+	private List<E> search(T start, File workDirectory) throws IOException {
+		int words = codec.words();
+		long[] record = new long[words];
+		codec.encode(start, record, 0);
+		List<File> levels = new ArrayList<File>();
+		levels.add(new File(workDirectory, "level-0"));
+		File visited = new File(workDirectory, "visited-0");
+		write(levels.get(0), record);
+		write(visited, record);
+		long[] solution = null;
+		long levelSize = 1;
+		while (solution == null && levelSize > 0 && getVisitsCount() < getVisitsLimit() &&
+				!isBudgetExceeded(0)) {
+			int depth = levels.size() - 1;
+			List<File> runs = new ArrayList<File>();
+			solution = expand(levels.get(depth), depth, workDirectory, runs);
+			if (solution == null && getTermination() == null) {
+				File nextLevel = new File(workDirectory, "level-" + (depth + 1));
+				File nextVisited = new File(workDirectory, "visited-" + (depth + 1));
+				levelSize = merge(runs, visited, nextLevel, nextVisited);
+				visited.delete();
+				visited = nextVisited;
+				levels.add(nextLevel);
+			}
+			for (File run : runs) {
+				run.delete();
+			}
+		}
+		return solution == null ? null : rebuild(start, levels, solution);
+	}
+	
+	/**
+	 * Visits the tuples of a level and writes the sorted runs of their extensions.
+	 * 
+	 * @return the record of the first solution found, or <code>null</code>
+	 */
+	@SuppressWarnings("unchecked")
+	private long[] expand(File level, int depth, File workDirectory, List<File> runs) throws IOException {
+		int words = codec.words();
+		long[] buffer = new long[runSize * words];
+		int count = 0;
+		long[] solution = null;
+		RecordReader reader = new RecordReader(level, words);
+		try {
+			while (solution == null && getVisitsCount() < getVisitsLimit() && !isBudgetExceeded(1) &&
+					reader.next()) {
+				T tuple = codec.decode(reader.record, 0);
+				markVisited(tuple);
+				if (tuple.isSolution()) {
+					solution = Arrays.copyOf(reader.record, words);
+				} else {
+					for (Tuple<E> next : tuple.next()) {
+						if (count == runSize) {
+							runs.add(writeRun(buffer, count, new File(workDirectory, "run-" + depth + "-" + runs.size())));
+							count = 0;
+						}
+						codec.encode((T) next, buffer, count * words);
+						count++;
+					}
+				}
+			}
+		} finally {
+			reader.close();
+		}
+		if (solution == null && count > 0) {
+			runs.add(writeRun(buffer, count, new File(workDirectory, "run-" + depth + "-" + runs.size())));
+		}
+		return solution;
+	}
+	
+	private File writeRun(long[] buffer, int count, File run) throws IOException {
+		int words = codec.words();
+		sort(buffer, count, words);
+		RecordWriter writer = new RecordWriter(run);
+		try {
+			for (int i = 0; i < count; i++) {
+				if (i == 0 || compare(buffer, i * words, buffer, (i - 1) * words, words) != 0) {
+					writer.write(buffer, i * words, words);
+				}
+			}
+		} finally {
+			writer.close();
+		}
+		return run;
+	}
+	
+	/**
+	 * Merges the runs of the extensions of a level with the visited records.
+	 * 
+	 * @return the number of records of the next level
+	 */
+	private long merge(List<File> runs, File visited, File nextLevel, File nextVisited) throws IOException {
+		final int words = codec.words();
+		PriorityQueue<RecordReader> queue = new PriorityQueue<RecordReader>(Math.max(1, runs.size()),
+				new Comparator<RecordReader>() {
+					
+					@Override
+					public int compare(RecordReader r1, RecordReader r2) {
+						return ExternalBfsBacktracker.compare(r1.record, 0, r2.record, 0, words);
+					}
+				});
+		RecordReader visitedReader = new RecordReader(visited, words);
+		RecordWriter levelWriter = new RecordWriter(nextLevel);
+		RecordWriter visitedWriter = new RecordWriter(nextVisited);
+		long result = 0;
+		try {
+			for (File run : runs) {
+				RecordReader reader = new RecordReader(run, words);
+				if (reader.next()) {
+					queue.add(reader);
+				} else {
+					reader.close();
+				}
+			}
+			boolean hasVisited = visitedReader.next();
+			long[] last = null;
+			while (!queue.isEmpty()) {
+				RecordReader reader = queue.poll();
+				long[] candidate = reader.record;
+				if (last == null || compare(candidate, 0, last, 0, words) != 0) {
+					while (hasVisited && compare(visitedReader.record, 0, candidate, 0, words) < 0) {
+						visitedWriter.write(visitedReader.record, 0, words);
+						hasVisited = visitedReader.next();
+					}
+					if (!hasVisited || compare(visitedReader.record, 0, candidate, 0, words) != 0) {
+						levelWriter.write(candidate, 0, words);
+						visitedWriter.write(candidate, 0, words);
+						result++;
+					}
+					last = Arrays.copyOf(candidate, words);
+				}
+				if (reader.next()) {
+					queue.add(reader);
+				} else {
+					reader.close();
+				}
+			}
+			while (hasVisited) {
+				visitedWriter.write(visitedReader.record, 0, words);
+				hasVisited = visitedReader.next();
+			}
+		} finally {
+			for (RecordReader reader : queue) {
+				reader.close();
+			}
+			visitedReader.close();
+			levelWriter.close();
+			visitedWriter.close();
+		}
+		return result;
+	}
+	
+	/**
+	 * Rebuilds the path to a solution found in the last level.
+	 */
+	@SuppressWarnings("unchecked")
+	private List<E> rebuild(T start, List<File> levels, long[] solution) throws IOException {
+		int words = codec.words();
+		long[][] records = new long[levels.size()][];
+		records[levels.size() - 1] = solution;
+		long[] record = new long[words];
+		for (int i = levels.size() - 2; i > 0; i--) {
+			RecordReader reader = new RecordReader(levels.get(i), words);
+			try {
+				while (records[i] == null && reader.next()) {
+					for (Tuple<E> next : codec.decode(reader.record, 0).next()) {
+						codec.encode((T) next, record, 0);
+						if (Arrays.equals(record, records[i + 1])) {
+							records[i] = Arrays.copyOf(reader.record, words);
+							break;
+						}
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		}
+		List<E> path = new ArrayList<E>();
+		Tuple<E> current = start;
+		for (int i = 1; i < records.length; i++) {
+			Tuple<E> match = null;
+			for (Tuple<E> next : current.next()) {
+				codec.encode((T) next, record, 0);
+				if (match == null && Arrays.equals(record, records[i])) {
+					match = next;
+				}
+			}
+			path.add(match.lastElement());
+			current = match;
+		}
+		return accept(current, path);
+	}
+	
+	private static void write(File file, long[] record) throws IOException {
+		RecordWriter writer = new RecordWriter(file);
+		try {
+			writer.write(record, 0, record.length);
+		} finally {
+			writer.close();
+		}
+	}
+	
+	private static void delete(File workDirectory) {
+		if (workDirectory != null) {
+			File[] files = workDirectory.listFiles();
+			if (files != null) {
+				for (File file : files) {
+					file.delete();
+				}
+			}
+			workDirectory.delete();
+		}
+	}
+	
+	private static int compare(long[] a, int aOffset, long[] b, int bOffset, int words) {
+		int result = 0;
+		for (int i = 0; i < words && result == 0; i++) {
+			result = Long.compare(a[aOffset + i], b[bOffset + i]);
+		}
+		return result;
+	}
+	
+	/**
+	 * Sorts the first <code>count</code> records of a buffer. Records of several
+	 * <code>long</code>s are sorted in place with a heapsort.
+	 */
+	private static void sort(long[] buffer, int count, int words) {
+		if (words == 1) {
+			Arrays.sort(buffer, 0, count);
+		} else {
+			for (int i = count / 2 - 1; i >= 0; i--) {
+				siftDown(buffer, i, count, words);
+			}
+			for (int end = count - 1; end > 0; end--) {
+				swap(buffer, 0, end, words);
+				siftDown(buffer, 0, end, words);
+			}
+		}
+	}
+	
+	private static void siftDown(long[] buffer, int i, int count, int words) {
+		int child;
+		while ((child = 2 * i + 1) < count) {
+			if (child + 1 < count && compare(buffer, (child + 1) * words, buffer, child * words, words) > 0) {
+				child++;
+			}
+			if (compare(buffer, i * words, buffer, child * words, words) >= 0) {
+				break;
+			}
+			swap(buffer, i, child, words);
+			i = child;
+		}
+	}
+	
+	private static void swap(long[] buffer, int i, int j, int words) {
+		for (int k = 0; k < words; k++) {
+			long tmp = buffer[i * words + k];
+			buffer[i * words + k] = buffer[j * words + k];
+			buffer[j * words + k] = tmp;
+		}
+	}
+	
+	/**
+	 * Reads the records of a file sequentially, mapping one window of the file at a time.
+	 */
+	private static class RecordReader implements Closeable {
+		
+		private final RandomAccessFile file;
+		private final FileChannel channel;
+		private final long length;
+		private final long[] record;
+		private long position;
+		private LongBuffer window;
+		
+		private RecordReader(File file, int words) throws IOException {
+			this.file = new RandomAccessFile(file, "r");
+			channel = this.file.getChannel();
+			length = channel.size() / 8;
+			record = new long[words];
+		}
+		
+		private boolean next() throws IOException {
+			if ((window == null || !window.hasRemaining()) && position < length) {
+				long size = Math.min((long) WINDOW_RECORDS * record.length, length - position);
+				window = channel.map(MapMode.READ_ONLY, position * 8, size * 8).asLongBuffer();
+				position += size;
+			}
+			boolean result = window != null && window.hasRemaining();
+			if (result) {
+				window.get(record);
+			}
+			return result;
+		}
+		
+		@Override
+		public void close() throws IOException {
+			file.close();
+		}
+	}
+	
+	private static class RecordWriter implements Closeable {
+		
+		private final DataOutputStream output;
+		
+		private RecordWriter(File file) throws IOException {
+			output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+		}
+		
+		private void write(long[] buffer, int offset, int words) throws IOException {
+			for (int i = offset; i < offset + words; i++) {
+				output.writeLong(buffer[i]);
+			}
+		}
+		
+		@Override
+		public void close() throws IOException {
+			output.close();
+		}
+	}
+}
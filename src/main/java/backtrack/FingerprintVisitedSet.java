@@ -0,0 +1,180 @@
+package backtrack;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * <p>
+ * A {@link VisitedSet} storing only the fingerprints of the visited tuples.
+ * </p>
+ * <p>
+ * Fingerprints are kept in an open-addressing hash table of <code>long</code>s with
+ * linear probing, so that each visited tuple costs between 8 and 16 bytes of heap
+ * and no tuple is retained after it is visited. All the tuples added to this set
+ * must implement {@link Fingerprinted}.
+ * </p>
+ * <p>
+ * <b>Note:</b>
+ * </p>
+ * <p>
+ * As visited tuples are not retained, this set cannot be iterated, and
+ * {@link Backtracker#writeGraph(GraphFormat)} is not supported when using it.
+ * </p>
+ * 
+ * @param <E> the type of elements of the tuples
+ */
+public class FingerprintVisitedSet<E> implements VisitedSet<E> {
+
+	public static final int DEFAULT_INITIAL_CAPACITY = 1 << 16;
+	private static final int MAX_CAPACITY = 1 << 30;
+	private static final long EMPTY = 0L;
+	
+	private long[] table;
+	private int mask;
+	private int size;
+	private boolean containsEmpty;
+	
+	public FingerprintVisitedSet() {
+		this(DEFAULT_INITIAL_CAPACITY);
+	}
+	
+	/**
+	 * Constructs a new set able to hold <code>expectedSize</code> fingerprints before
+	 * growing.
+	 * 
+	 * @param expectedSize the expected number of visited tuples
+	 */
+	public FingerprintVisitedSet(int expectedSize) {
+		long minCapacity = Math.max(2L, expectedSize + expectedSize / 3L);
+		int capacity = minCapacity >= MAX_CAPACITY ? MAX_CAPACITY : Integer.highestOneBit((int) minCapacity - 1) << 1;
+		table = new long[capacity];
+		mask = table.length - 1;
+	}
+	
+	@Override
+	public boolean add(Tuple<E> tuple) {
+		return add(fingerprintOf(tuple));
+	}
+	
+	public boolean add(long fingerprint) {
+		boolean result;
+		if (fingerprint == EMPTY) {
+			result = !containsEmpty;
+			containsEmpty = true;
+		} else {
+			int i = indexOf(fingerprint);
+			while (table[i] != EMPTY && table[i] != fingerprint) {
+				i = (i + 1) & mask;
+			}
+			result = table[i] == EMPTY;
+			if (result) {
+				table[i] = fingerprint;
+				if (++size > (table.length / 4) * 3) {
+					grow();
+				}
+			}
+		}
+		return result;
+	}
+	
+	@Override
+	public boolean contains(Tuple<E> tuple) {
+		return contains(fingerprintOf(tuple));
+	}
+	
+	public boolean contains(long fingerprint) {
+		boolean result;
+		if (fingerprint == EMPTY) {
+			result = containsEmpty;
+		} else {
+			int i = indexOf(fingerprint);
+			while (table[i] != EMPTY && table[i] != fingerprint) {
+				i = (i + 1) & mask;
+			}
+			result = table[i] != EMPTY;
+		}
+		return result;
+	}
+	
+	@Override
+	public int size() {
+		return containsEmpty ? size + 1 : size;
+	}
+	
+	@Override
+	public void clear() {
+		Arrays.fill(table, EMPTY);
+		size = 0;
+		containsEmpty = false;
+	}
+	
+	/**
+	 * Writes the table of this set, so that it can be restored without rehashing the
+	 * fingerprints.
+	 * 
+	 * @param output the output to write the table to
+	 * @throws IOException if the table cannot be written
+	 * @see #restore(long[], int, boolean)
+	 */
+	void writeTo(DataOutput output) throws IOException {
+		output.writeInt(table.length);
+		output.writeInt(size);
+		output.writeBoolean(containsEmpty);
+		for (long fingerprint : table) {
+			output.writeLong(fingerprint);
+		}
+	}
+	
+	/**
+	 * Replaces the content of this set with a table written by {@link #writeTo(DataOutput)}.
+	 * 
+	 * @param table the table, whose length is a power of two
+	 * @param size the number of non-empty fingerprints of the table
+	 * @param containsEmpty whether the set contains the fingerprint <code>0</code>
+	 */
+	void restore(long[] table, int size, boolean containsEmpty) {
+		this.table = table;
+		mask = table.length - 1;
+		this.size = size;
+		this.containsEmpty = containsEmpty;
+	}
+	
+	@Override
+	public Iterator<Tuple<E>> iterator() {
+		throw new UnsupportedOperationException("Visited tuples are not retained");
+	}
+	
+	private static long fingerprintOf(Tuple<?> tuple) {
+		if (tuple instanceof Fingerprinted) {
+			return ((Fingerprinted) tuple).fingerprint();
+		} else {
+			throw new IllegalArgumentException("Tuple without fingerprint " + tuple);
+		}
+	}
+	
+	private int indexOf(long fingerprint) {
+		long hash = fingerprint * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+	
+	private void grow() {
+		if (table.length == MAX_CAPACITY) {
+			throw new IllegalStateException("Too many visited tuples: " + size);
+		} else {
+			long[] old = table;
+			table = new long[old.length << 1];
+			mask = table.length - 1;
+			for (long fingerprint : old) {
+				if (fingerprint != EMPTY) {
+					int i = indexOf(fingerprint);
+					while (table[i] != EMPTY) {
+						i = (i + 1) & mask;
+					}
+					table[i] = fingerprint;
+				}
+			}
+		}
+	}
+}
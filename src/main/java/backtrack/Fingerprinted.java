@@ -0,0 +1,17 @@
+package backtrack;
+
+/**
+ * <p>
+ * An object that can be identified by a <code>long</code> fingerprint.
+ * </p>
+ * <p>
+ * Tuples implementing this interface can be stored in a {@link FingerprintVisitedSet}.
+ * Tuples that are equal must have equal fingerprints. Tuples that are not equal
+ * should have different fingerprints: if two of them do not, one of the two is
+ * considered visited when the other one is.
+ * </p>
+ */
+public interface Fingerprinted {
+
+	public long fingerprint();
+}
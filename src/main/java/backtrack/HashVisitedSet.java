@@ -0,0 +1,45 @@
+package backtrack;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * A {@link VisitedSet} backed by a {@link HashSet}. Tuples are compared via their
+ * <code>equals(Object)</code> and <code>hashCode()</code> methods and are retained.
+ * 
+ * @param <E> the type of elements of the tuples
+ */
+public class HashVisitedSet<E> implements VisitedSet<E> {
+
+	private final Set<Tuple<E>> set;
+	
+	public HashVisitedSet() {
+		set = new HashSet<Tuple<E>>();
+	}
+	
+	@Override
+	public boolean add(Tuple<E> tuple) {
+		return set.add(tuple);
+	}
+	
+	@Override
+	public boolean contains(Tuple<E> tuple) {
+		return set.contains(tuple);
+	}
+	
+	@Override
+	public int size() {
+		return set.size();
+	}
+	
+	@Override
+	public void clear() {
+		set.clear();
+	}
+	
+	@Override
+	public Iterator<Tuple<E>> iterator() {
+		return set.iterator();
+	}
+}
@@ -0,0 +1,26 @@
+package backtrack;
+
+/**
+ * <p>
+ * An estimate of the number of elements needed to extend a tuple to a solution, as
+ * used by the {@link AStarBacktracker}.
+ * </p>
+ * <p>
+ * To guarantee shortest solutions, a heuristic must be <i>admissible</i>, i.e.
+ * never overestimate the number of elements needed, and <i>consistent</i>, i.e.
+ * never decrease by more than one from a tuple to the tuples extending it.
+ * </p>
+ * 
+ * @param <T> the type of tuples
+ */
+public interface Heuristic<T> {
+	
+	/**
+	 * Returns the estimated number of elements needed to extend a tuple to a solution.
+	 * 
+	 * @param tuple the tuple
+	 * @return the estimated number of elements needed to extend the tuple to a solution,
+	 * <code>0</code> if the tuple is a solution
+	 */
+	public int estimate(T tuple);
+}
@@ -0,0 +1,33 @@
+package backtrack;
+
+/**
+ * <p>
+ * An iterative-deepening A* backtracker: an {@link IddfsBacktracker} whose bounds
+ * apply to <code>g + h</code>, where <code>g</code> is the size of a tuple and
+ * <code>h</code> the estimate of its {@link Heuristic}.
+ * </p>
+ * <p>
+ * With an admissible heuristic, the returned solutions are as short as those found
+ * by a {@link BfsBacktracker}.
+ * </p>
+ * 
+ * @param <E> the type of elements of the tuples
+ */
+public class IdaStarBacktracker<T extends Tuple<E>, E> extends IddfsBacktracker<T, E> {
+
+	private final Heuristic<T> heuristic;
+	
+	public IdaStarBacktracker(Heuristic<T> heuristic) {
+		this.heuristic = heuristic;
+	}
+	
+	public Heuristic<T> getHeuristic() {
+		return heuristic;
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	protected int estimate(Tuple<E> tuple) {
+		return heuristic.estimate((T) tuple);
+	}
+}
@@ -0,0 +1,251 @@
+package backtrack;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * An iterative-deepening depth-first backtracker.
+ * </p>
+ * <p>
+ * The traversal is a sequence of depth-first searches, each bounded to tuples whose
+ * cost does not exceed a bound, starting from the cost of the start tuple and raised
+ * at each iteration to the least cost that exceeded it. The cost of a tuple is its
+ * size plus its {@link #estimate(Tuple) estimate}, which is <code>0</code> for an
+ * uninformed search: the first solution found is then as short as the one found by
+ * a {@link BfsBacktracker}.
+ * </p>
+ * <p>
+ * Duplicates are only detected along the current path: a tuple of the current path
+ * is never revisited, but the visited set is not used, so a tuple reached by several
+ * paths is visited once per path. Memory is thus proportional to the depth of the
+ * search rather than to the size of the traversal graph. It consists of the tuples
+ * of the current path, a hash set of these tuples for the duplicate checks, and, for
+ * each of them, the extensions still to be tried. The extensions of a
+ * {@link LazyTuple} are constructed one at a time, as they are reached, so only its
+ * expansion is kept. The extensions of other tuples are constructed together by
+ * {@link Tuple#next()}, and are kept until they are tried.
+ * </p>
+ * <p>
+ * Optionally, a bounded transposition table prunes tuples that were already reached
+ * with a smaller or equal size during the current iteration, at the cost of memory
+ * proportional to its capacity.
+ * </p>
+ * <p>
+ * <b>Note:</b>
+ * </p>
+ * <p>
+ * Tuples visited in several iterations are counted once per visit, and
+ * {@link #writeGraph(GraphFormat)} writes an empty graph. The
+ * {@link #setCompactPath(boolean) compact path mode} is not supported, as its table
+ * grows with every visit, and the path to a solution is rebuilt from the previous
+ * tuples of the current path anyway.
+ * </p>
+ * 
+ * @param <E> the type of elements of the tuples
+ */
+public class IddfsBacktracker<T extends Tuple<E>, E> extends DfsBacktracker<T, E> {
+
+	private static final int INFINITY = Integer.MAX_VALUE;
+	
+	private int maxDepth;
+	private int transpositionTableCapacity;
+	
+	public IddfsBacktracker() {
+		maxDepth = INFINITY;
+		transpositionTableCapacity = 0;
+	}
+	
+	/**
+	 * Sets the maximum cost of the tuples visited by the last iteration.
+	 * 
+	 * @param maxDepth the maximum cost of the visited tuples
+	 */
+	public void setMaxDepth(int maxDepth) {
+		this.maxDepth = maxDepth;
+	}
+	
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+	
+	/**
+	 * Sets the maximum number of tuples in the transposition table, or <code>0</code>
+	 * to disable it. When the table is full, the least recently used tuple is evicted.
+	 * 
+	 * @param transpositionTableCapacity the capacity of the transposition table
+	 */
+	public void setTranspositionTableCapacity(int transpositionTableCapacity) {
+		this.transpositionTableCapacity = transpositionTableCapacity;
+	}
+	
+	public int getTranspositionTableCapacity() {
+		return transpositionTableCapacity;
+	}
+	
+	/**
+	 * Returns the estimated number of elements needed to extend a tuple to a solution.
+	 * 
+	 * @param tuple the tuple
+	 * @return <code>0</code>, in the case of an uninformed search
+	 */
+	protected int estimate(Tuple<E> tuple) {
+		return 0;
+	}
+	
+	@Override
+	public boolean isQueueTraversal() {
+		return false;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws IllegalStateException if the compact path mode is enabled
+	 */
+	@Override
+	protected List<E> solve(T start) {
+		if (isCompactPath()) {
+			throw new IllegalStateException("Compact path mode is not supported by " + getClass().getSimpleName());
+		}
+		reset();
+		int bound = start.size() + estimate(start);
+		while (getResult() == null && bound != INFINITY && bound <= maxDepth &&
+				getVisitsCount() < getVisitsLimit() && !isBudgetExceeded(0)) {
+			bound = new Iteration(bound).search(start);
+		}
+		return getResult();
+	}
+	
+	private class Iteration {
+		
+		private final int bound;
+		private int nextBound;
+		private final Deque<Frame<E>> stack;
+		private final Set<Tuple<E>> path;
+		private final Map<Tuple<E>, Integer> transpositionTable;
+		
+		private Iteration(int bound) {
+			this.bound = bound;
+			nextBound = INFINITY;
+			stack = new ArrayDeque<Frame<E>>();
+			path = new HashSet<Tuple<E>>();
+			transpositionTable = transpositionTableCapacity > 0 ?
+					new TranspositionTable<E>(transpositionTableCapacity) : null;
+		}
+		
+		/**
+		 * Searches the tuples whose cost does not exceed the bound of this iteration.
+		 * 
+		 * @param start the start tuple
+		 * @return the bound of the next iteration
+		 */
+		private int search(Tuple<E> start) {
+			visit(start);
+			while (getResult() == null && !stack.isEmpty() && getVisitsCount() < getVisitsLimit() &&
+					!isBudgetExceeded(1)) {
+				Frame<E> frame = stack.peek();
+				if (frame.hasNext()) {
+					Tuple<E> next = frame.next();
+					if (!path.contains(next)) {
+						visit(next);
+					}
+				} else {
+					stack.pop();
+					path.remove(frame.tuple);
+				}
+			}
+			return nextBound;
+		}
+		
+		private void visit(Tuple<E> tuple) {
+			int cost = tuple.size() + estimate(tuple);
+			if (cost > bound) {
+				nextBound = Math.min(nextBound, cost);
+			} else {
+				markVisited(tuple);
+				if (tuple.isSolution()) {
+					accept(tuple);
+				} else if (transpose(tuple)) {
+					stack.push(new Frame<E>(tuple));
+					path.add(tuple);
+				}
+			}
+		}
+		
+		private boolean transpose(Tuple<E> tuple) {
+			boolean result = true;
+			if (transpositionTable != null) {
+				Integer size = transpositionTable.get(tuple);
+				if (size != null && size <= tuple.size()) {
+					result = false;
+				} else {
+					transpositionTable.put(tuple, tuple.size());
+				}
+			}
+			return result;
+		}
+	}
+	
+	private static class Frame<E> {
+		
+		private final Tuple<E> tuple;
+		private LazyTuple.Expansion<E> expansion;
+		private List<Tuple<E>> children;
+		private int index;
+		
+		private Frame(Tuple<E> tuple) {
+			this.tuple = tuple;
+		}
+		
+		private boolean hasNext() {
+			boolean result;
+			if (tuple instanceof LazyTuple) {
+				if (expansion == null) {
+					expansion = ((LazyTuple<E>) tuple).expand();
+				}
+				result = index < expansion.size();
+			} else {
+				if (children == null) {
+					children = tuple.next();
+				}
+				result = index < children.size();
+			}
+			return result;
+		}
+		
+		private Tuple<E> next() {
+			Tuple<E> result;
+			if (expansion != null) {
+				// Construct the extension only when it is reached
+				result = expansion.get(index++);
+			} else {
+				result = children.get(index);
+				children.set(index++, null);
+			}
+			return result;
+		}
+	}
+	
+	private static class TranspositionTable<E> extends LinkedHashMap<Tuple<E>, Integer> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final int capacity;
+		
+		private TranspositionTable(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+		
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Tuple<E>, Integer> eldest) {
+			return size() > capacity;
+		}
+	}
+}
@@ -0,0 +1,213 @@
+package backtrack;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>
+ * A depth-first backtracker walking a single {@link MutableState}, applying elements
+ * to advance and undoing them to backtrack.
+ * </p>
+ * <p>
+ * Only the codes of the elements along the current path and of the elements still
+ * to be tried at each depth are kept, and visited states are recorded by fingerprint
+ * in a {@link FingerprintVisitedSet}, so no object is allocated per visited state.
+ * Elements are tried in the same order as the {@link DfsBacktracker} tries the
+ * corresponding tuples, so both find the same solution.
+ * </p>
+ * <p>
+ * <b>Note:</b>
+ * </p>
+ * <p>
+ * As states are not tuples, this backtracker is not a {@link Backtracker}: it only
+ * supports {@link #solve(SearchBudget) budgets} and the statistics of
+ * {@link SearchResult}, where an element is generated when it is applied and the
+ * frontier is made of the elements still to be tried. Search listeners, solution
+ * handlers, suspended computations, checkpoints, symmetry reduction and graphs are
+ * not supported.
+ * </p>
+ * 
+ * @param <E> the type of elements
+ */
+public class InPlaceDfsBacktracker<E> {
+
+	private static final int INITIAL_DEPTH = 64;
+	
+	private MutableState<E> start;
+	private int maxVisits;
+	private int visitsCount;
+	private List<E> result;
+	private final FingerprintVisitedSet<E> visitedSet;
+	private Termination termination;
+	private long generatedCount;
+	private long duplicatesCount;
+	private int peakFrontierSize;
+	private int maxDepth;
+	private long elapsedNanos;
+	
+	public InPlaceDfsBacktracker() {
+		maxVisits = Backtracker.DEFAULT_MAX_VISITS;
+		visitsCount = -1;
+		visitedSet = new FingerprintVisitedSet<E>();
+	}
+	
+	/**
+	 * Sets the start state. The state is modified during the traversal and restored
+	 * to its initial value unless a solution is found, in which case it is left at
+	 * the solution.
+	 * 
+	 * @param start the start state
+	 */
+	public void setStart(MutableState<E> start) {
+		this.start = start;
+	}
+	
+	public MutableState<E> getStart() {
+		return start;
+	}
+	
+	public void setMaxVisits(int maxVisits) {
+		this.maxVisits = maxVisits;
+	}
+	
+	public int getMaxVisits() {
+		return maxVisits;
+	}
+	
+	public int getVisitsCount() {
+		return visitsCount;
+	}
+	
+	public List<E> getResult() {
+		return result;
+	}
+	
+	/**
+	 * Returns the reason why the last computation ended.
+	 * 
+	 * @return the reason why the last computation ended
+	 */
+	public Termination getTermination() {
+		return termination;
+	}
+	
+	/**
+	 * Returns the outcome of the last computation, with the statistics of its
+	 * traversal.
+	 * 
+	 * @return the outcome of the last computation
+	 */
+	public SearchResult<E> getSearchResult() {
+		return new SearchResult<E>(result, termination, visitsCount, generatedCount,
+				duplicatesCount, peakFrontierSize, maxDepth, elapsedNanos);
+	}
+	
+	public List<E> solve() {
+		return solve(start, null);
+	}
+	
+	/**
+	 * Computes a solution within a budget.
+	 * 
+	 * @param budget the budget of the computation
+	 * @return the outcome of the computation
+	 */
+	public SearchResult<E> solve(SearchBudget budget) {
+		solve(start, budget);
+		return getSearchResult();
+	}
+	
+	private List<E> solve(MutableState<E> state, SearchBudget budget) {
+		long startNanos = System.nanoTime();
+		int maxVisits = budget == null ? this.maxVisits : Math.min(this.maxVisits, budget.getMaxVisits());
+		visitedSet.clear();
+		visitsCount = 1;
+		result = null;
+		termination = null;
+		generatedCount = 0;
+		duplicatesCount = 0;
+		peakFrontierSize = 0;
+		maxDepth = 0;
+		visitedSet.add(state.fingerprint());
+		if (state.isSolution()) {
+			result = new ArrayList<E>();
+		} else {
+			int[] path = new int[INITIAL_DEPTH];
+			int[][] elements = new int[INITIAL_DEPTH][];
+			int[] counts = new int[INITIAL_DEPTH];
+			int depth = 0;
+			elements[0] = new int[state.maxElementsCount()];
+			counts[0] = state.elements(elements[0]);
+			int frontierSize = counts[0];
+			peakFrontierSize = frontierSize;
+			int countdown = 1;
+			while (depth >= 0 && result == null && termination == null) {
+				if (budget != null && --countdown == 0) {
+					countdown = budget.getCheckInterval();
+					termination = budget.check();
+				}
+				if (termination == null && visitsCount >= maxVisits) {
+					termination = Termination.MAX_VISITS;
+				}
+				if (termination == null) {
+					if (counts[depth] > 0) {
+						// Try the elements of the current depth from last to first
+						int element = elements[depth][--counts[depth]];
+						frontierSize--;
+						generatedCount++;
+						state.apply(element);
+						if (visitedSet.add(state.fingerprint())) {
+							visitsCount++;
+							path[depth] = element;
+							maxDepth = Math.max(maxDepth, depth + 1);
+							if (state.isSolution()) {
+								result = path(state, path, depth + 1);
+							} else {
+								depth++;
+								if (depth == path.length) {
+									path = Arrays.copyOf(path, depth * 2);
+									elements = Arrays.copyOf(elements, depth * 2);
+									counts = Arrays.copyOf(counts, depth * 2);
+								}
+								if (elements[depth] == null) {
+									elements[depth] = new int[state.maxElementsCount()];
+								}
+								counts[depth] = state.elements(elements[depth]);
+								frontierSize += counts[depth];
+								peakFrontierSize = Math.max(peakFrontierSize, frontierSize);
+							}
+						} else {
+							duplicatesCount++;
+							state.undo(element);
+						}
+					} else {
+						depth--;
+						if (depth >= 0) {
+							state.undo(path[depth]);
+						}
+					}
+				}
+			}
+			if (result == null) {
+				// Restore the start state
+				for (int i = depth - 1; i >= 0; i--) {
+					state.undo(path[i]);
+				}
+			}
+		}
+		if (termination == null) {
+			termination = result != null ? Termination.SOLVED : Termination.EXHAUSTED;
+		}
+		elapsedNanos = System.nanoTime() - startNanos;
+		return result;
+	}
+	
+	private List<E> path(MutableState<E> state, int[] path, int length) {
+		List<E> result = new ArrayList<E>(length);
+		for (int i = 0; i < length; i++) {
+			result.add(state.element(path[i]));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,44 @@
+package backtrack;
+
+/**
+ * <p>
+ * A tuple whose extensions can be fingerprinted before being constructed.
+ * </p>
+ * <p>
+ * When the visited set of a {@link Backtracker} is a {@link FingerprintVisitedSet},
+ * the extensions of a lazy tuple whose fingerprint has already been visited are
+ * discarded without being constructed.
+ * </p>
+ * 
+ * @param <E> the type of elements of this tuple
+ */
+public interface LazyTuple<E> extends Tuple<E>, Fingerprinted {
+	
+	/**
+	 * Returns the extensions of this tuple, which are the tuples that would be
+	 * returned by {@link #next()}, in the same order.
+	 * 
+	 * @return the extensions of this tuple
+	 */
+	public Expansion<E> expand();
+	
+	/**
+	 * The extensions of a tuple, constructed on demand.
+	 * 
+	 * @param <E> the type of elements of the tuples
+	 */
+	public interface Expansion<E> {
+		
+		public int size();
+		
+		/**
+		 * Returns the fingerprint of an extension without constructing it.
+		 * 
+		 * @param index the index of the extension
+		 * @return the fingerprint of the extension
+		 */
+		public long fingerprint(int index);
+		
+		public Tuple<E> get(int index);
+	}
+}
@@ -0,0 +1,52 @@
+package backtrack;
+
+/**
+ * <p>
+ * A state modified in place by applying and undoing elements, as used by the
+ * {@link InPlaceDfsBacktracker}.
+ * </p>
+ * <p>
+ * Elements are represented by <code>int</code> codes, so that the traversal does not
+ * allocate any object per visited state. Equal states must have equal fingerprints.
+ * </p>
+ * 
+ * @param <E> the type of elements
+ */
+public interface MutableState<E> extends Fingerprinted {
+	
+	/**
+	 * Returns the maximum number of elements that can be applied to this state,
+	 * whatever its current value.
+	 * 
+	 * @return the maximum number of elements that can be applied to this state
+	 */
+	public int maxElementsCount();
+	
+	/**
+	 * Writes the codes of the elements that can be applied to the current value of
+	 * this state into an array.
+	 * 
+	 * @param elements an array of at least {@link #maxElementsCount()} elements
+	 * @return the number of elements that can be applied
+	 */
+	public int elements(int[] elements);
+	
+	public void apply(int element);
+	
+	/**
+	 * Undoes the last applied element.
+	 * 
+	 * @param element the code of the last applied element
+	 */
+	public void undo(int element);
+	
+	public boolean isSolution();
+	
+	/**
+	 * Returns the element with the given code.
+	 * 
+	 * @param element the code of the element
+	 * @return the element
+	 */
+	public E element(int element);
+}
@@ -0,0 +1,34 @@
+package backtrack;
+
+/**
+ * A {@link SearchListener} ignoring all the events, which can also be extended
+ * to observe only some of them.
+ * 
+ * @param <E> the type of elements of the tuples
+ */
+public class NoOpSearchListener<E> implements SearchListener<E> {
+	
+	@Override
+	public void onVisit(Tuple<E> tuple) {
+	}
+	
+	@Override
+	public void onDuplicate(Tuple<E> tuple) {
+	}
+	
+	@Override
+	public void onDuplicate(Tuple<E> tuple, long fingerprint) {
+	}
+	
+	@Override
+	public void onExpand(Tuple<E> tuple, int extensionsCount) {
+	}
+	
+	@Override
+	public void onSolution(Tuple<E> tuple) {
+	}
+	
+	@Override
+	public void onProgress(int visitsCount, int frontierSize) {
+	}
+}
@@ -0,0 +1,170 @@
+package backtrack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * A breadth-first backtracker expanding each level of the traversal in parallel.
+ * </p>
+ * <p>
+ * The tuples of a level are split into chunks which are tested and expanded by the
+ * threads of a {@link ForkJoinPool}. The tuples of the next level are deduplicated
+ * against the visited set as soon as they are generated, so the visited set must be
+ * thread-safe: by default, a {@link ConcurrentHashVisitedSet} is used. The level of
+ * the solution, hence the length of the returned path, is the same as the one found
+ * by a {@link BfsBacktracker}.
+ * </p>
+ * <p>
+ * <b>Note:</b>
+ * </p>
+ * <p>
+ * Tuples are expanded concurrently, so {@link Tuple#next()} and
+ * {@link Tuple#isSolution()} must be safe to call from multiple threads on different
+ * tuples.
+ * </p>
+ * 
+ * @param <E> the type of elements of the tuples
+ */
+public class ParallelBfsBacktracker<T extends Tuple<E>, E> extends BfsBacktracker<T, E> {
+
+	public static final int DEFAULT_CHUNK_SIZE = 64;
+	private static final int NO_SOLUTION = Integer.MAX_VALUE;
+	
+	private final ForkJoinPool pool;
+	private int chunkSize;
+	
+	/**
+	 * Creates a backtracker running on the {@link ForkJoinPool#commonPool() common pool}.
+	 */
+	public ParallelBfsBacktracker() {
+		this(ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Creates a backtracker running on a pool, which is not shut down by this
+	 * backtracker.
+	 * 
+	 * @param pool the pool running the expansion of the levels
+	 */
+	public ParallelBfsBacktracker(ForkJoinPool pool) {
+		this.pool = pool;
+		chunkSize = DEFAULT_CHUNK_SIZE;
+		setVisitedSet(new ConcurrentHashVisitedSet<E>());
+	}
+	
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+	
+	public int getChunkSize() {
+		return chunkSize;
+	}
+	
+	@Override
+	public boolean isQueueTraversal() {
+		return false;
+	}
+	
+	@Override
+	protected List<E> solve(T start) {
+		reset();
+		List<E> result = null;
+		List<Tuple<E>> level = new ArrayList<Tuple<E>>();
+		getVisitedSet().add(visitedKey(start));
+		level.add(start);
+		int size = 0;
+		while (result == null && !level.isEmpty() && getVisitsCount() < getVisitsLimit() &&
+				!isBudgetExceeded(size)) {
+			size = Math.min(level.size(), getVisitsLimit() - getVisitsCount());
+			for (int i = 0; i < size; i++) {
+				markVisited(level.get(i));
+			}
+			LevelExpansion expansion = new LevelExpansion(level, size);
+			pool.invoke(expansion);
+			if (expansion.solution.get() != NO_SOLUTION) {
+				result = accept(level.get(expansion.solution.get()));
+			} else {
+				level = expansion.nextLevel();
+			}
+		}
+		return result;
+	}
+	
+	private class LevelExpansion extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final AtomicInteger solution;
+		private final List<ChunkExpansion> chunks;
+		
+		private LevelExpansion(List<Tuple<E>> level, int size) {
+			solution = new AtomicInteger(NO_SOLUTION);
+			chunks = new ArrayList<ChunkExpansion>();
+			for (int from = 0; from < size; from += chunkSize) {
+				chunks.add(new ChunkExpansion(level, from, Math.min(from + chunkSize, size), solution));
+			}
+		}
+		
+		@Override
+		protected void compute() {
+			invokeAll(chunks);
+		}
+		
+		private List<Tuple<E>> nextLevel() {
+			int size = 0;
+			for (ChunkExpansion chunk : chunks) {
+				size += chunk.next.size();
+			}
+			List<Tuple<E>> result = new ArrayList<Tuple<E>>(size);
+			for (ChunkExpansion chunk : chunks) {
+				result.addAll(chunk.next);
+			}
+			return result;
+		}
+	}
+	
+	private class ChunkExpansion extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final List<Tuple<E>> level;
+		private final int from;
+		private final int to;
+		private final AtomicInteger solution;
+		private final List<Tuple<E>> next;
+		
+		private ChunkExpansion(List<Tuple<E>> level, int from, int to, AtomicInteger solution) {
+			this.level = level;
+			this.from = from;
+			this.to = to;
+			this.solution = solution;
+			next = new ArrayList<Tuple<E>>();
+		}
+		
+		@Override
+		protected void compute() {
+			VisitedSet<E> visitedSet = getVisitedSet();
+			for (int i = from; i < to && i < solution.get(); i++) {
+				Tuple<E> current = level.get(i);
+				if (current.isSolution()) {
+					updateSolution(i);
+				} else if (solution.get() == NO_SOLUTION) {
+					for (Tuple<E> tuple : current.next()) {
+						if (visitedSet.add(visitedKey(tuple))) {
+							next.add(tuple);
+						}
+					}
+				}
+			}
+		}
+		
+		private void updateSolution(int index) {
+			int current;
+			while (index < (current = solution.get()) && !solution.compareAndSet(current, index));
+		}
+	}
+}
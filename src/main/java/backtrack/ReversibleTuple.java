@@ -0,0 +1,40 @@
+package backtrack;
+
+import java.util.List;
+
+/**
+ * <p>
+ * A tuple whose predecessors can be enumerated, allowing the traversal graph to be
+ * explored backwards from a known goal, as done by the {@link BidirectionalBfsBacktracker}.
+ * </p>
+ * 
+ * @param <E> the type of elements of this tuple
+ */
+public interface ReversibleTuple<E> extends Tuple<E> {
+	
+	/**
+	 * <p>
+	 * Returns the tuples from which this tuple can be reached with a single element.
+	 * </p>
+	 * <p>
+	 * For each returned tuple, {@link #previous()} is this tuple, {@link #lastElement()}
+	 * is the element leading from the returned tuple to this tuple, and {@link #size()}
+	 * is the number of elements leading from the returned tuple to the first tuple of
+	 * the backward traversal.
+	 * </p>
+	 * 
+	 * @return the predecessors of this tuple
+	 */
+	public List<Tuple<E>> predecessors();
+	
+	/**
+	 * Translates an element expressed relative to a tuple equal to this one into the
+	 * same element expressed relative to this tuple. Tuples that are equal only if
+	 * they are identical can return the element unchanged.
+	 * 
+	 * @param element the element to translate
+	 * @param tuple a tuple equal to this one
+	 * @return the translated element
+	 */
+	public E translate(E element, Tuple<E> tuple);
+}
@@ -0,0 +1,143 @@
+package backtrack;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * The limits of a computation of a {@link Backtracker}: a deadline, a maximum number
+ * of visits, a maximum heap usage and a cancellation flag. The computation also
+ * ends if its thread is interrupted, without clearing the interrupted status.
+ * </p>
+ * <p>
+ * Apart from the maximum number of visits, the limits are checked once every
+ * {@link #setCheckInterval(int) check interval} iterations of the traversal, so
+ * that checking them has a negligible cost. The heap usage is estimated as the
+ * memory used by the Java virtual machine, as reported by {@link Runtime}.
+ * </p>
+ * <p>
+ * A budget can be cancelled from any thread.
+ * </p>
+ * 
+ * @see Backtracker#solve(SearchBudget)
+ */
+public class SearchBudget {
+
+	public static final int DEFAULT_CHECK_INTERVAL = 1024;
+	
+	private long deadline;
+	private boolean hasDeadline;
+	private int maxVisits;
+	private long maxMemory;
+	private int checkInterval;
+	private volatile boolean cancelled;
+	
+	public SearchBudget() {
+		maxVisits = Integer.MAX_VALUE;
+		maxMemory = Long.MAX_VALUE;
+		checkInterval = DEFAULT_CHECK_INTERVAL;
+	}
+	
+	/**
+	 * Sets the deadline to a timeout from now.
+	 * 
+	 * @param timeout the timeout
+	 * @param unit the unit of the timeout
+	 */
+	public void setTimeout(long timeout, TimeUnit unit) {
+		setDeadline(System.nanoTime() + unit.toNanos(timeout));
+	}
+	
+	/**
+	 * Sets the deadline, as a value of {@link System#nanoTime()}.
+	 * 
+	 * @param deadline the deadline
+	 */
+	public void setDeadline(long deadline) {
+		this.deadline = deadline;
+		hasDeadline = true;
+	}
+	
+	public long getDeadline() {
+		return deadline;
+	}
+	
+	public boolean hasDeadline() {
+		return hasDeadline;
+	}
+	
+	/**
+	 * Sets the maximum number of visits, in addition to the maximum number of visits
+	 * of the backtracker.
+	 * 
+	 * @param maxVisits the maximum number of visits
+	 */
+	public void setMaxVisits(int maxVisits) {
+		this.maxVisits = maxVisits;
+	}
+	
+	public int getMaxVisits() {
+		return maxVisits;
+	}
+	
+	/**
+	 * Sets the maximum number of bytes used by the Java virtual machine.
+	 * 
+	 * @param maxMemory the maximum heap usage, in bytes
+	 */
+	public void setMaxMemory(long maxMemory) {
+		this.maxMemory = maxMemory;
+	}
+	
+	public long getMaxMemory() {
+		return maxMemory;
+	}
+	
+	/**
+	 * Sets the number of iterations of the traversal between two checks of the limits.
+	 * 
+	 * @param checkInterval the number of iterations between two checks
+	 */
+	public void setCheckInterval(int checkInterval) {
+		if (checkInterval <= 0) {
+			throw new IllegalArgumentException("Invalid check interval " + checkInterval);
+		}
+		this.checkInterval = checkInterval;
+	}
+	
+	public int getCheckInterval() {
+		return checkInterval;
+	}
+	
+	/**
+	 * Cancels the computations using this budget.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+	
+	public boolean isCancelled() {
+		return cancelled;
+	}
+	
+	/**
+	 * Checks the limits of this budget, except for the maximum number of visits.
+	 * 
+	 * @return the limit that was reached, or <code>null</code> if none was
+	 */
+	Termination check() {
+		Termination result = null;
+		if (cancelled) {
+			result = Termination.CANCELLED;
+		} else if (Thread.currentThread().isInterrupted()) {
+			result = Termination.INTERRUPTED;
+		} else if (hasDeadline && System.nanoTime() - deadline >= 0) {
+			result = Termination.DEADLINE;
+		} else if (maxMemory != Long.MAX_VALUE) {
+			Runtime runtime = Runtime.getRuntime();
+			if (runtime.totalMemory() - runtime.freeMemory() > maxMemory) {
+				result = Termination.MEMORY;
+			}
+		}
+		return result;
+	}
+}
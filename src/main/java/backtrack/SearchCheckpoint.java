@@ -0,0 +1,386 @@
+package backtrack;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Writes and reads the checkpoints of the suspended computations of a {@link Backtracker}.
+ * </p>
+ * <p>
+ * A checkpoint does not contain the tuples themselves but the tree of their
+ * elements: each tuple of the traversal queue, of the visited set and their
+ * previous tuples is a node holding the index of the node of its previous tuple,
+ * the {@link CompactTuple#lastElementCode() code} of its last element, its visit ID
+ * and whether it is in the visited set. Nodes are written after the node of their
+ * previous tuple, and the tuples are restored by extending the start tuple along
+ * the tree. A {@link FingerprintVisitedSet} is written as its table instead, and
+ * the parent table of the compact path mode is written as is.
+ * </p>
+ * <p>
+ * The file is a sequence of big-endian values:
+ * <ul>
+ * <li>the magic number, the visits count, the number of nodes, the size of the
+ * traversal queue and the kind of visited set</li>
+ * <li>for each node, the index of its previous node or <code>-1</code>, the code of
+ * its last element, its visit ID and its flags</li>
+ * <li>the index of the node of each tuple of the traversal queue, in iteration order</li>
+ * <li>the length of the parent table, or <code>0</code> if the compact path mode is
+ * disabled, followed by the previous visit IDs and the element codes</li>
+ * <li>the table of the fingerprint visited set, if any</li>
+ * </ul>
+ * The file is read through memory mappings.
+ * </p>
+ */
+final class SearchCheckpoint {
+	
+	private static final int MAGIC = 0x42545331;
+	private static final byte ITERABLE_VISITED_SET = 0;
+	private static final byte FINGERPRINT_VISITED_SET = 1;
+	private static final int NO_PREVIOUS = -1;
+	private static final int VISITED = 1;
+	private static final int WINDOW_SIZE = 1 << 26;
+	
+	private SearchCheckpoint() {
+	}
+	
+	static <E> void write(Backtracker<?, E> backtracker, File file) throws IOException {
+		int[] parents = backtracker.getParents();
+		int[] elementCodes = backtracker.getElementCodes();
+		NodeTable<E> nodes = new NodeTable<E>(parents, elementCodes);
+		VisitedSet<E> visitedSet = backtracker.getVisitedSet();
+		boolean fingerprints = visitedSet instanceof FingerprintVisitedSet;
+		if (!fingerprints) {
+			for (Tuple<E> tuple : visitedSet) {
+				int index = nodes.index(tuple);
+				nodes.flags[index] |= VISITED;
+			}
+		}
+		List<Integer> queue = new ArrayList<Integer>();
+		for (Tuple<E> tuple : backtracker.getTraversalQueue()) {
+			queue.add(nodes.index(tuple));
+		}
+		DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+		try {
+			output.writeInt(MAGIC);
+			output.writeInt(backtracker.getVisitsCount());
+			output.writeInt(nodes.size);
+			output.writeInt(queue.size());
+			output.writeByte(fingerprints ? FINGERPRINT_VISITED_SET : ITERABLE_VISITED_SET);
+			for (int i = 0; i < nodes.size; i++) {
+				output.writeInt(nodes.previous[i]);
+				output.writeInt(nodes.codes[i]);
+				output.writeInt(nodes.visitIds[i]);
+				output.writeInt(nodes.flags[i]);
+			}
+			for (int index : queue) {
+				output.writeInt(index);
+			}
+			int length = parents == null ? 0 : backtracker.getVisitsCount() + 1;
+			output.writeInt(length);
+			for (int i = 0; i < length; i++) {
+				output.writeInt(parents[i]);
+			}
+			for (int i = 0; i < length; i++) {
+				output.writeInt(elementCodes[i]);
+			}
+			if (fingerprints) {
+				((FingerprintVisitedSet<E>) visitedSet).writeTo(output);
+			}
+		} finally {
+			output.close();
+		}
+	}
+	
+	/**
+	 * Restores the visited set, the visits count and the parent table of a backtracker,
+	 * which is expected to have been reset.
+	 * 
+	 * @return the tuples of the traversal queue, in iteration order
+	 */
+	static <E> List<Tuple<E>> read(Backtracker<?, E> backtracker, File file) throws IOException {
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+		try {
+			Input input = new Input(randomAccessFile.getChannel());
+			if (input.readInt() != MAGIC) {
+				throw new IllegalArgumentException("Not a checkpoint: " + file);
+			}
+			int visitsCount = input.readInt();
+			int nodesCount = input.readInt();
+			int queueSize = input.readInt();
+			boolean fingerprints = input.readByte() == FINGERPRINT_VISITED_SET;
+			VisitedSet<E> visitedSet = backtracker.getVisitedSet();
+			if (fingerprints != visitedSet instanceof FingerprintVisitedSet) {
+				throw new IllegalStateException("The visited set does not match the checkpoint");
+			}
+			// Count the extensions of each node, to release them once all are restored
+			long nodesPosition = input.position;
+			int[] pending = new int[nodesCount];
+			for (int i = 0; i < nodesCount; i++) {
+				int previous = input.readInt();
+				if (previous != NO_PREVIOUS) {
+					pending[previous]++;
+				}
+				input.skip(12);
+			}
+			input.seek(nodesPosition);
+			List<Tuple<E>> tuples = new ArrayList<Tuple<E>>(nodesCount);
+			List<List<Tuple<E>>> extensions = new ArrayList<List<Tuple<E>>>(nodesCount);
+			for (int i = 0; i < nodesCount; i++) {
+				int previous = input.readInt();
+				int code = input.readInt();
+				int visitId = input.readInt();
+				int flags = input.readInt();
+				Tuple<E> tuple;
+				if (previous == NO_PREVIOUS) {
+					tuple = backtracker.getStart();
+				} else {
+					tuple = extension(tuples.get(previous), code, extensions, previous);
+					if (--pending[previous] == 0) {
+						extensions.set(previous, null);
+					}
+				}
+				tuple.setVisitId(visitId);
+				if ((flags & VISITED) != 0) {
+					Tuple<E> key = backtracker.visitedKey(tuple);
+					visitedSet.add(key);
+					key.setVisitId(visitId);
+				}
+				tuples.add(tuple);
+				extensions.add(null);
+			}
+			List<Tuple<E>> result = new ArrayList<Tuple<E>>(queueSize);
+			for (int i = 0; i < queueSize; i++) {
+				result.add(tuples.get(input.readInt()));
+			}
+			int length = input.readInt();
+			if ((length > 0) != backtracker.isCompactPath()) {
+				throw new IllegalStateException("The compact path mode does not match the checkpoint");
+			}
+			if (length > 0) {
+				int[] parents = new int[length];
+				int[] elementCodes = new int[length];
+				for (int i = 0; i < length; i++) {
+					parents[i] = input.readInt();
+				}
+				for (int i = 0; i < length; i++) {
+					elementCodes[i] = input.readInt();
+				}
+				backtracker.restoreState(visitsCount, parents, elementCodes);
+				for (Tuple<E> tuple : tuples) {
+					if (tuple.getVisitId() > 0) {
+						((CompactTuple<E>) tuple).detach();
+					}
+				}
+			} else {
+				backtracker.restoreState(visitsCount, null, null);
+			}
+			if (fingerprints) {
+				long[] table = new long[input.readInt()];
+				int size = input.readInt();
+				boolean containsEmpty = input.readByte() != 0;
+				for (int i = 0; i < table.length; i++) {
+					table[i] = input.readLong();
+				}
+				((FingerprintVisitedSet<E>) visitedSet).restore(table, size, containsEmpty);
+			}
+			return result;
+		} finally {
+			randomAccessFile.close();
+		}
+	}
+	
+	private static <E> Tuple<E> extension(Tuple<E> tuple, int code, List<List<Tuple<E>>> extensions, int index) {
+		List<Tuple<E>> next = extensions.get(index);
+		if (next == null) {
+			next = tuple.next();
+			extensions.set(index, next);
+		}
+		Tuple<E> result = null;
+		for (int i = 0; i < next.size() && result == null; i++) {
+			if (((CompactTuple<E>) next.get(i)).lastElementCode() == code) {
+				result = next.get(i);
+			}
+		}
+		if (result == null) {
+			throw new IllegalStateException("No extension of " + tuple + " with element code " + code);
+		}
+		return result;
+	}
+	
+	/**
+	 * The nodes of the tree of the tuples to write. Visited tuples are identified by
+	 * their visit ID, the others by identity.
+	 */
+	private static class NodeTable<E> {
+		
+		private final int[] parents;
+		private final int[] elementCodes;
+		private final Map<Tuple<E>, Integer> tupleIndices;
+		private final Map<Integer, Integer> visitIndices;
+		private int[] previous;
+		private int[] codes;
+		private int[] visitIds;
+		private int[] flags;
+		private int size;
+		
+		private NodeTable(int[] parents, int[] elementCodes) {
+			this.parents = parents;
+			this.elementCodes = elementCodes;
+			tupleIndices = new IdentityHashMap<Tuple<E>, Integer>();
+			visitIndices = new HashMap<Integer, Integer>();
+			previous = new int[16];
+			codes = new int[16];
+			visitIds = new int[16];
+			flags = new int[16];
+		}
+		
+		/**
+		 * Returns the index of the node of a tuple, adding the nodes of the tuple and
+		 * of its previous tuples if needed.
+		 */
+		private int index(Tuple<E> tuple) {
+			// A node is either a tuple, or the visit ID of a detached previous tuple
+			List<Object> added = new ArrayList<Object>();
+			Object node = tuple;
+			while (node != null && indexOf(node) == null) {
+				added.add(node);
+				node = previousOf(node);
+			}
+			int result = node == null ? NO_PREVIOUS : indexOf(node);
+			for (int i = added.size() - 1; i >= 0; i--) {
+				result = add(added.get(i), result);
+			}
+			return result;
+		}
+		
+		@SuppressWarnings("unchecked")
+		private Integer indexOf(Object node) {
+			Integer result;
+			if (node instanceof Integer) {
+				result = visitIndices.get(node);
+			} else {
+				Tuple<E> tuple = (Tuple<E>) node;
+				result = tuple.getVisitId() > 0 ? visitIndices.get(tuple.getVisitId()) : tupleIndices.get(tuple);
+			}
+			return result;
+		}
+		
+		@SuppressWarnings("unchecked")
+		private Object previousOf(Object node) {
+			Object result = null;
+			if (node instanceof Integer) {
+				int visitId = (Integer) node;
+				if (elementCodes[visitId] != CompactTuple.NO_ELEMENT) {
+					result = parents[visitId];
+				}
+			} else {
+				Tuple<E> tuple = (Tuple<E>) node;
+				if (!(tuple instanceof CompactTuple)) {
+					throw new IllegalStateException("Checkpoints require tuples implementing CompactTuple");
+				}
+				if (tuple.previous() != null) {
+					result = tuple.previous();
+				} else if (((CompactTuple<E>) tuple).lastElementCode() != CompactTuple.NO_ELEMENT) {
+					if (parents == null || tuple.getVisitId() <= 0) {
+						throw new IllegalStateException("Tuple detached from its previous tuple: " + tuple);
+					}
+					result = parents[tuple.getVisitId()];
+				}
+			}
+			return result;
+		}
+		
+		@SuppressWarnings("unchecked")
+		private int add(Object node, int previousIndex) {
+			if (size == previous.length) {
+				previous = Arrays.copyOf(previous, size * 2);
+				codes = Arrays.copyOf(codes, size * 2);
+				visitIds = Arrays.copyOf(visitIds, size * 2);
+				flags = Arrays.copyOf(flags, size * 2);
+			}
+			int visitId;
+			if (node instanceof Integer) {
+				visitId = (Integer) node;
+				codes[size] = elementCodes[visitId];
+			} else {
+				CompactTuple<E> tuple = (CompactTuple<E>) node;
+				visitId = tuple.getVisitId();
+				codes[size] = tuple.lastElementCode();
+				if (visitId <= 0) {
+					tupleIndices.put(tuple, size);
+				}
+			}
+			if (visitId > 0) {
+				visitIndices.put(visitId, size);
+			}
+			previous[size] = previousIndex;
+			visitIds[size] = visitId;
+			return size++;
+		}
+	}
+	
+	/**
+	 * Reads a file sequentially, mapping one window of the file at a time.
+	 */
+	private static class Input {
+		
+		private final FileChannel channel;
+		private final long length;
+		private long position;
+		private ByteBuffer window;
+		
+		private Input(FileChannel channel) throws IOException {
+			this.channel = channel;
+			length = channel.size();
+		}
+		
+		private void require(int bytes) throws IOException {
+			if (window == null || window.remaining() < bytes) {
+				if (position + bytes > length) {
+					throw new IllegalArgumentException("Truncated checkpoint");
+				}
+				window = channel.map(MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, length - position));
+			}
+			position += bytes;
+		}
+		
+		private void seek(long position) {
+			this.position = position;
+			window = null;
+		}
+		
+		private void skip(int bytes) throws IOException {
+			require(bytes);
+			window.position(window.position() + bytes);
+		}
+		
+		private byte readByte() throws IOException {
+			require(1);
+			return window.get();
+		}
+		
+		private int readInt() throws IOException {
+			require(4);
+			return window.getInt();
+		}
+		
+		private long readLong() throws IOException {
+			require(8);
+			return window.getLong();
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package backtrack;
+
+/**
+ * <p>
+ * Observes the traversal of a {@link Backtracker}.
+ * </p>
+ * <p>
+ * The methods are called on the thread running the traversal, in its innermost
+ * loop, so they are expected to return quickly. By default the backtracker uses
+ * a {@link NoOpSearchListener}, whose calls are eliminated by the JIT compiler
+ * as long as no other listener is used.
+ * </p>
+ * 
+ * @param <E> the type of elements of the tuples
+ * @see Backtracker#setListener(SearchListener)
+ */
+public interface SearchListener<E> {
+	
+	/**
+	 * Called when a tuple is visited, after its visit ID is assigned.
+	 * 
+	 * @param tuple the visited tuple
+	 */
+	public void onVisit(Tuple<E> tuple);
+	
+	/**
+	 * Called when a tuple taken from the traversal queue was already visited.
+	 * 
+	 * @param tuple the tuple that was already visited
+	 */
+	public void onDuplicate(Tuple<E> tuple);
+	
+	/**
+	 * Called when an extension of a {@link LazyTuple} is discarded before being
+	 * constructed, because its fingerprint was already visited.
+	 * 
+	 * @param tuple the expanded tuple
+	 * @param fingerprint the fingerprint of the discarded extension
+	 * @see FingerprintVisitedSet
+	 */
+	public void onDuplicate(Tuple<E> tuple, long fingerprint);
+	
+	/**
+	 * Called when a visited tuple is expanded.
+	 * 
+	 * @param tuple the expanded tuple
+	 * @param extensionsCount the number of tuples added to the traversal queue
+	 */
+	public void onExpand(Tuple<E> tuple, int extensionsCount);
+	
+	/**
+	 * Called when a visited tuple is a solution.
+	 * 
+	 * @param tuple the solution
+	 */
+	public void onSolution(Tuple<E> tuple);
+	
+	/**
+	 * Called once every {@link Backtracker#setProgressInterval(int) progress interval}
+	 * visits.
+	 * 
+	 * @param visitsCount the number of visits so far
+	 * @param frontierSize the size of the traversal queue
+	 */
+	public void onProgress(int visitsCount, int frontierSize);
+}
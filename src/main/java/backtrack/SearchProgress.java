@@ -0,0 +1,69 @@
+package backtrack;
+
+import java.util.List;
+
+/**
+ * <p>
+ * The progress of a computation of a {@link Backtracker} that is suspended after a
+ * number of visits.
+ * </p>
+ * <p>
+ * Resuming the computation continues the traversal where it was suspended, until
+ * either a solution is found, all the tuples are visited, the maximum number of
+ * visits of the backtracker is reached, or the computation is suspended again.
+ * Starting another computation with the same backtracker invalidates this progress.
+ * </p>
+ * 
+ * @param <E> the type of elements of the tuples
+ * @see Backtracker#solveFor(int)
+ */
+public class SearchProgress<E> {
+
+	private final Backtracker<?, E> backtracker;
+	private final int generation;
+	private boolean done;
+	
+	SearchProgress(Backtracker<?, E> backtracker, int generation) {
+		this.backtracker = backtracker;
+		this.generation = generation;
+	}
+	
+	public Backtracker<?, E> getBacktracker() {
+		return backtracker;
+	}
+	
+	/**
+	 * Resumes the computation.
+	 * 
+	 * @param visits the maximum number of visits before the computation is suspended again
+	 * @return <code>true</code> if the computation is completed, <code>false</code> otherwise
+	 * @throws IllegalStateException if another computation was started with the backtracker
+	 */
+	public boolean resume(int visits) {
+		done = backtracker.resume(generation, visits);
+		return done;
+	}
+	
+	/**
+	 * Indicates whether the computation is completed, in which case resuming it has
+	 * no effect.
+	 * 
+	 * @return <code>true</code> if the computation is completed, <code>false</code> otherwise
+	 */
+	public boolean isDone() {
+		return done;
+	}
+	
+	public int getVisitsCount() {
+		return backtracker.getVisitsCount();
+	}
+	
+	/**
+	 * Returns the solution found by the computation.
+	 * 
+	 * @return the path to the solution, or <code>null</code> if no solution was found yet
+	 */
+	public List<E> getResult() {
+		return backtracker.getResult();
+	}
+}
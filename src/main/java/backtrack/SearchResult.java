@@ -0,0 +1,105 @@
+package backtrack;
+
+import java.util.List;
+
+/**
+ * <p>
+ * The outcome of a computation of a {@link Backtracker}: the path to the solution,
+ * the reason why the computation ended and the statistics of its traversal.
+ * </p>
+ * <p>
+ * A tuple is generated when it is added to the traversal queue, and is a duplicate
+ * when it is found to be already visited, either before or after being generated.
+ * The depth of a tuple is its size.
+ * </p>
+ * 
+ * @param <E> the type of elements of the tuples
+ * @see Backtracker#solve(SearchBudget)
+ */
+public class SearchResult<E> {
+
+	private final List<E> path;
+	private final Termination termination;
+	private final int visitsCount;
+	private final long generatedCount;
+	private final long duplicatesCount;
+	private final int peakFrontierSize;
+	private final int maxDepth;
+	private final long elapsedNanos;
+	
+	public SearchResult(List<E> path, Termination termination, int visitsCount, long generatedCount,
+			long duplicatesCount, int peakFrontierSize, int maxDepth, long elapsedNanos) {
+		this.path = path;
+		this.termination = termination;
+		this.visitsCount = visitsCount;
+		this.generatedCount = generatedCount;
+		this.duplicatesCount = duplicatesCount;
+		this.peakFrontierSize = peakFrontierSize;
+		this.maxDepth = maxDepth;
+		this.elapsedNanos = elapsedNanos;
+	}
+	
+	/**
+	 * Returns the path to the solution.
+	 * 
+	 * @return the path to the solution, or <code>null</code> if no solution was found
+	 */
+	public List<E> getPath() {
+		return path;
+	}
+	
+	public Termination getTermination() {
+		return termination;
+	}
+	
+	public int getVisitsCount() {
+		return visitsCount;
+	}
+	
+	public long getGeneratedCount() {
+		return generatedCount;
+	}
+	
+	public long getDuplicatesCount() {
+		return duplicatesCount;
+	}
+	
+	/**
+	 * Returns the largest size reached by the traversal queue.
+	 * 
+	 * @return the largest size reached by the traversal queue
+	 */
+	public int getPeakFrontierSize() {
+		return peakFrontierSize;
+	}
+	
+	/**
+	 * Returns the largest size of a visited tuple.
+	 * 
+	 * @return the largest size of a visited tuple
+	 */
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+	
+	/**
+	 * Returns the time spent traversing, in nanoseconds. The time of a suspended
+	 * computation does not include the time between the resumes.
+	 * 
+	 * @return the time spent traversing, in nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+	
+	public boolean isSolved() {
+		return termination == Termination.SOLVED;
+	}
+	
+	@Override
+	public String toString() {
+		return termination + " after " + visitsCount + " visits (" + generatedCount + " generated, "
+				+ duplicatesCount + " duplicates, peak frontier " + peakFrontierSize + ", max depth "
+				+ maxDepth + ", " + elapsedNanos + " ns)";
+	}
+}
@@ -0,0 +1,22 @@
+package backtrack;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Receives the solutions found by a {@link Backtracker} while it enumerates them.
+ * </p>
+ * 
+ * @param <E> the type of elements of the tuples
+ * @see Backtracker#solve(SolutionHandler)
+ */
+public interface SolutionHandler<E> {
+
+	/**
+	 * Handles a solution.
+	 * 
+	 * @param solution the path to the solution
+	 * @return <code>true</code> to continue the traversal, <code>false</code> to stop it
+	 */
+	public boolean handle(List<E> solution);
+}
@@ -0,0 +1,29 @@
+package backtrack;
+
+/**
+ * <p>
+ * A tuple of a problem with symmetries, i.e. transformations of the tuples that
+ * preserve both the extensions and the solutions, such as the reflections of a
+ * board whose target is itself symmetric.
+ * </p>
+ * <p>
+ * When symmetry reduction is enabled on a {@link Backtracker}, tuples are recorded
+ * in the visited set by their canonical representative, so that only one tuple of
+ * each symmetry class is visited.
+ * </p>
+ * 
+ * @param <E> the type of elements of this tuple
+ * @see Backtracker#setSymmetryReduction(boolean)
+ */
+public interface SymmetricTuple<E> extends Tuple<E> {
+
+	/**
+	 * Returns the canonical representative of the symmetry class of this tuple.
+	 * Symmetric tuples must have equal canonical representatives, which must also
+	 * have equal fingerprints if they are {@link Fingerprinted}. If no symmetry
+	 * applies, this tuple is returned.
+	 * 
+	 * @return the canonical representative of this tuple
+	 */
+	public Tuple<E> canonicalize();
+}
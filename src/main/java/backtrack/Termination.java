@@ -0,0 +1,49 @@
+package backtrack;
+
+/**
+ * The reason why a computation of a {@link Backtracker} ended.
+ */
+public enum Termination {
+	
+	/**
+	 * A solution was found.
+	 */
+	SOLVED,
+	
+	/**
+	 * All the tuples were visited.
+	 */
+	EXHAUSTED,
+	
+	/**
+	 * The maximum number of visits was reached.
+	 */
+	MAX_VISITS,
+	
+	/**
+	 * The computation was suspended, and can be resumed.
+	 * 
+	 * @see Backtracker#solveFor(int)
+	 */
+	SUSPENDED,
+	
+	/**
+	 * The deadline of the budget was reached.
+	 */
+	DEADLINE,
+	
+	/**
+	 * The heap usage exceeded the maximum memory of the budget.
+	 */
+	MEMORY,
+	
+	/**
+	 * The budget was cancelled.
+	 */
+	CANCELLED,
+	
+	/**
+	 * The thread running the computation was interrupted.
+	 */
+	INTERRUPTED
+}
@@ -0,0 +1,46 @@
+package backtrack;
+
+/**
+ * <p>
+ * Encodes tuples as fixed-size records of <code>long</code>s, and decodes them back.
+ * </p>
+ * <p>
+ * Tuples with equal records must be equal, and equal tuples should have equal
+ * records. A record may however retain state that the equality of tuples ignores,
+ * when {@link Tuple#isSolution()} depends on it, in which case equal tuples with
+ * different records are visited once each. A decoded tuple is equal to the encoded
+ * one, but it is not required to have the same previous tuples: it is typically the
+ * empty tuple of a problem starting at the encoded state.
+ * </p>
+ * 
+ * @param <T> the type of the tuples
+ * @param <E> the type of elements of the tuples
+ * @see ExternalBfsBacktracker
+ */
+public interface TupleCodec<T extends Tuple<E>, E> {
+
+	/**
+	 * Returns the number of <code>long</code>s of a record.
+	 * 
+	 * @return the number of <code>long</code>s of a record
+	 */
+	public int words();
+	
+	/**
+	 * Writes the record of a tuple into a buffer.
+	 * 
+	 * @param tuple the tuple to encode
+	 * @param buffer the buffer to write the record into
+	 * @param offset the index of the first <code>long</code> of the record in the buffer
+	 */
+	public void encode(T tuple, long[] buffer, int offset);
+	
+	/**
+	 * Reads the record of a tuple from a buffer.
+	 * 
+	 * @param buffer the buffer to read the record from
+	 * @param offset the index of the first <code>long</code> of the record in the buffer
+	 * @return the decoded tuple
+	 */
+	public T decode(long[] buffer, int offset);
+}
@@ -0,0 +1,31 @@
+package backtrack;
+
+/**
+ * <p>
+ * The set of tuples visited by a {@link Backtracker}.
+ * </p>
+ * <p>
+ * Implementations are not required to retain the tuples they are given: iterating
+ * over the visited tuples, as needed for writing the traversal graph, is only
+ * supported by implementations that do.
+ * </p>
+ * 
+ * @param <E> the type of elements of the tuples
+ */
+public interface VisitedSet<E> extends Iterable<Tuple<E>> {
+	
+	/**
+	 * Marks a tuple as visited.
+	 * 
+	 * @param tuple the tuple to mark as visited
+	 * @return <code>true</code> if the tuple had not been visited yet,
+	 * <code>false</code> otherwise
+	 */
+	public boolean add(Tuple<E> tuple);
+	
+	public boolean contains(Tuple<E> tuple);
+	
+	public int size();
+	
+	public void clear();
+}
@@ -6,20 +6,42 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 
+import backtrack.AStarBacktracker;
+import backtrack.Backtracker;
 import backtrack.BfsBacktracker;
+import backtrack.BidirectionalBfsBacktracker;
+import backtrack.CountingSearchListener;
 import backtrack.DfsBacktracker;
+import backtrack.ExternalBfsBacktracker;
+import backtrack.FingerprintVisitedSet;
 import backtrack.GraphFormat;
+import backtrack.IdaStarBacktracker;
+import backtrack.InPlaceDfsBacktracker;
+import backtrack.IddfsBacktracker;
+import backtrack.ParallelBfsBacktracker;
+import backtrack.SearchBudget;
+import backtrack.SearchProgress;
+import backtrack.SearchResult;
+import backtrack.Termination;
 import backtrack.example.puzzle.core.Board;
 import backtrack.example.puzzle.core.Move;
 import backtrack.example.puzzle.util.StandardFormatUtils;
 
 public class PuzzleSolverTest {
 
+	@Rule
+	public ExpectedException expectedException = ExpectedException.none();
+	
 	@Test
 	public void solveBfs_TargetPieceInSamePosition_SolutionOfSizeOne() throws IOException {
 		String startBoardString =
@@ -70,13 +92,8 @@ public class PuzzleSolverTest {
 		Assert.assertTrue(moves.size() == 93);
 	}
 	
-	/**
-	 * A convenience method for writing to a file the BFS traversal graph of the Quzzle.
-	 * 
-	 * @throws IOException if an I/O exception occurs
-	 */
 	@Test
-	public void graphBfs_Quzzle_Written() throws IOException {
+	public void solveBfs_QuzzleWithFingerprintVisitedSet_SolutionOf93Moves() throws IOException {
 		String startBoardString =
 				"0 0 1 1\n" +
 				"0 0 2 3\n" +
@@ -95,40 +112,174 @@ public class PuzzleSolverTest {
 		solver.setStart(startBoard);
 		solver.setTarget(targetBoard);
 		solver.setTargetPieceId(0);
-		solver.setBacktracker(new BfsBacktracker<BoardTuple, Move>());
-		File output = new File("quzzle_bfs_traversal.graphml");
-		solver.solve();
-		solver.getBacktracker().writeGraph(new GraphFormat(new BufferedWriter(new FileWriter(output))));
-		Assert.assertTrue(output.exists());
+		BfsBacktracker<BoardTuple, Move> backtracker = new BfsBacktracker<BoardTuple, Move>();
+		backtracker.setVisitedSet(new FingerprintVisitedSet<Move>());
+		solver.setBacktracker(backtracker);
+		List<Move> moves = solver.solve();
+		Assert.assertTrue(moves.size() == 93);
 	}
 	
 	@Test
-	public void solveDfs_TargetPieceInSamePosition_SolutionOfSizeOne() throws IOException {
+	public void solveBfs_QuzzleWithCompactPath_SolutionOf93Moves() throws IOException {
 		String startBoardString =
-				"1 1 2 2\n" +
-				"1 1 3 4\n" +
-				". . 3 4\n" +
-				"5 6 6 7\n" +
-				"5 8 8 0\n";
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
 		String targetBoardString =
-				"1 1 2 2\n" +
-				"1 1 3 4\n" +
-				". . 3 4\n" +
-				"5 6 6 0\n" +
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		BfsBacktracker<BoardTuple, Move> backtracker = new BfsBacktracker<BoardTuple, Move>();
+		backtracker.setVisitedSet(new FingerprintVisitedSet<Move>());
+		backtracker.setCompactPath(true);
+		solver.setBacktracker(backtracker);
+		List<Move> moves = solver.solve();
+		Assert.assertTrue(moves.size() == 93);
+		List<Board> boards = PuzzleSolver.boards(startBoard, moves);
+		Assert.assertTrue(boards.get(boards.size() - 1).equals(targetBoard, 0));
+	}
+	
+	@Test
+	public void solveExternalBfs_Quzzle_SolutionOf93Moves() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		ExternalBfsBacktracker<BoardTuple, Move> backtracker =
+				new ExternalBfsBacktracker<BoardTuple, Move>(new BoardTupleCodec(solver));
+		backtracker.setRunSize(4);
+		solver.setBacktracker(backtracker);
+		List<Move> moves = solver.solve();
+		Assert.assertTrue(moves.size() == 93);
+		List<Board> boards = PuzzleSolver.boards(startBoard, moves);
+		Assert.assertTrue(boards.get(boards.size() - 1).equals(targetBoard, 0));
+	}
+	
+	@Test
+	public void solveExternalBfs_OpenBoardWithTargetPieceOfSharedShape_ShortestSolution() throws IOException {
+		String startBoardString =
+				"0 . . .\n" +
+				". 1 1 .\n" +
+				". . . .\n" +
+				"2 . 3 3\n" +
 				". . . .\n";
+		String targetBoardString =
+				". . . .\n" +
+				". . . .\n" +
+				". . . .\n" +
+				". . . .\n" +
+				". . . 0\n";
 		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
 		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
 		PuzzleSolver solver = new PuzzleSolver();
 		solver.setStart(startBoard);
 		solver.setTarget(targetBoard);
-		solver.setTargetPieceId(1);
-		solver.setBacktracker(new DfsBacktracker<BoardTuple, Move>());
+		solver.setTargetPieceId(0);
+		solver.setBacktracker(new BfsBacktracker<BoardTuple, Move>());
+		int shortestSize = solver.solve().size();
+		ExternalBfsBacktracker<BoardTuple, Move> backtracker =
+				new ExternalBfsBacktracker<BoardTuple, Move>(new BoardTupleCodec(solver));
+		backtracker.setRunSize(16);
+		solver.setBacktracker(backtracker);
 		List<Move> moves = solver.solve();
-		Assert.assertTrue(moves.isEmpty());
+		Assert.assertTrue(moves.size() == shortestSize);
+		List<Board> boards = PuzzleSolver.boards(startBoard, moves);
+		Assert.assertTrue(boards.get(boards.size() - 1).equals(targetBoard, 0));
 	}
 	
 	@Test
-	public void solveDfs_Quzzle_SolutionOf149Moves() throws IOException {
+	public void solveBfsSolutions_QuzzleWithCornerTarget_AllSolutionsInOrderOfSize() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				". . . .\n" +
+				". . . .\n" +
+				". . . .\n" +
+				". . 0 0\n" +
+				". . 0 0\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		BfsBacktracker<BoardTuple, Move> backtracker = new BfsBacktracker<BoardTuple, Move>();
+		backtracker.setStart(new BoardTuple(startBoard, solver));
+		List<List<Move>> solutions = backtracker.solve(Integer.MAX_VALUE);
+		Assert.assertTrue(solutions.size() == 4);
+		for (int i = 0; i < solutions.size(); i++) {
+			List<Board> boards = PuzzleSolver.boards(startBoard, solutions.get(i));
+			Assert.assertTrue(boards.get(boards.size() - 1).equals(targetBoard, 0));
+			Assert.assertTrue(i == 0 || solutions.get(i - 1).size() <= solutions.get(i).size());
+		}
+		Assert.assertTrue(backtracker.solve(2).size() == 2);
+		List<List<Move>> shortestSolutions = backtracker.solveShortest();
+		Assert.assertTrue(shortestSolutions.size() == 1);
+		Assert.assertTrue(shortestSolutions.get(0).equals(solutions.get(0)));
+	}
+	
+	@Test
+	public void solveShortestBfs_OpenBoard_AllSolutionsOfSameSize() throws IOException {
+		String startBoardString =
+				"0 . . .\n" +
+				". 1 1 .\n" +
+				". . . .\n" +
+				"2 . 3 3\n" +
+				". . . .\n";
+		String targetBoardString =
+				"1 1 . .\n" +
+				". . . .\n" +
+				". 2 . .\n" +
+				". 3 3 .\n" +
+				". . . 0\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		BfsBacktracker<BoardTuple, Move> backtracker = new BfsBacktracker<BoardTuple, Move>();
+		backtracker.setStart(new BoardTuple(startBoard, solver));
+		int shortestSize = backtracker.solve().size();
+		List<List<Move>> shortestSolutions = backtracker.solveShortest();
+		Assert.assertTrue(shortestSolutions.size() > 1);
+		for (List<Move> solution : shortestSolutions) {
+			List<Board> boards = PuzzleSolver.boards(startBoard, solution);
+			Assert.assertTrue(boards.get(boards.size() - 1).equals(targetBoard, 0));
+			Assert.assertTrue(solution.size() == shortestSize);
+		}
+	}
+	
+	@Test
+	public void solveForBfs_QuzzleResumed_SolutionOf93MovesWithSameVisits() throws IOException {
 		String startBoardString =
 				"0 0 1 1\n" +
 				"0 0 2 3\n" +
@@ -147,18 +298,152 @@ public class PuzzleSolverTest {
 		solver.setStart(startBoard);
 		solver.setTarget(targetBoard);
 		solver.setTargetPieceId(0);
-		solver.setBacktracker(new DfsBacktracker<BoardTuple, Move>());
+		BfsBacktracker<BoardTuple, Move> backtracker = new BfsBacktracker<BoardTuple, Move>();
+		backtracker.setStart(new BoardTuple(startBoard, solver));
+		SearchProgress<Move> progress = backtracker.solveFor(100);
+		int resumesCount = 0;
+		while (!progress.isDone()) {
+			Assert.assertTrue(progress.getResult() == null);
+			Assert.assertTrue(progress.getVisitsCount() == 100 * (resumesCount + 1));
+			progress.resume(100);
+			resumesCount++;
+		}
+		Assert.assertTrue(resumesCount == 8);
+		Assert.assertTrue(progress.getResult().size() == 93);
+		Assert.assertTrue(progress.getVisitsCount() == 881);
+	}
+	
+	@Test
+	public void restoreBfs_QuzzleCheckpoint_SolutionOf93MovesWithSameVisits() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		File checkpoint = File.createTempFile("quzzle", ".checkpoint");
+		checkpoint.deleteOnExit();
+		BfsBacktracker<BoardTuple, Move> backtracker = new BfsBacktracker<BoardTuple, Move>();
+		backtracker.setStart(new BoardTuple(startBoard, solver));
+		backtracker.solveFor(300);
+		backtracker.checkpoint(checkpoint);
+		BfsBacktracker<BoardTuple, Move> restored = new BfsBacktracker<BoardTuple, Move>();
+		restored.setStart(new BoardTuple(startBoard, solver));
+		SearchProgress<Move> progress = restored.restore(checkpoint);
+		Assert.assertTrue(progress.getVisitsCount() == 300);
+		Assert.assertTrue(progress.resume(Integer.MAX_VALUE));
+		Assert.assertTrue(progress.getResult().size() == 93);
+		Assert.assertTrue(progress.getVisitsCount() == 881);
+		List<Board> boards = PuzzleSolver.boards(startBoard, progress.getResult());
+		Assert.assertTrue(boards.get(boards.size() - 1).equals(targetBoard, 0));
+	}
+	
+	@Test
+	public void restoreDfs_QuzzleCheckpointWithFingerprintsAndCompactPath_SolutionOf149Moves() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		File checkpoint = File.createTempFile("quzzle", ".checkpoint");
+		checkpoint.deleteOnExit();
+		DfsBacktracker<BoardTuple, Move> backtracker = new DfsBacktracker<BoardTuple, Move>();
+		backtracker.setVisitedSet(new FingerprintVisitedSet<Move>());
+		backtracker.setCompactPath(true);
+		backtracker.setStart(new BoardTuple(startBoard, solver));
+		backtracker.solveFor(300);
+		backtracker.checkpoint(checkpoint);
+		DfsBacktracker<BoardTuple, Move> restored = new DfsBacktracker<BoardTuple, Move>();
+		restored.setVisitedSet(new FingerprintVisitedSet<Move>());
+		restored.setCompactPath(true);
+		restored.setStart(new BoardTuple(startBoard, solver));
+		SearchProgress<Move> progress = restored.restore(checkpoint);
+		Assert.assertTrue(progress.resume(Integer.MAX_VALUE));
+		Assert.assertTrue(progress.getResult().size() == 149);
+		List<Board> boards = PuzzleSolver.boards(startBoard, progress.getResult());
+		Assert.assertTrue(boards.get(boards.size() - 1).equals(targetBoard, 0));
+	}
+	
+	@Test
+	public void resume_OtherComputationStarted_Exception() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		BfsBacktracker<BoardTuple, Move> backtracker = new BfsBacktracker<BoardTuple, Move>();
+		backtracker.setStart(new BoardTuple(startBoard, solver));
+		SearchProgress<Move> progress = backtracker.solveFor(100);
+		backtracker.solve();
+		expectedException.expect(IllegalStateException.class);
+		progress.resume(100);
+	}
+	
+	@Test
+	public void solveParallelBfs_Quzzle_SolutionOf93Moves() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		solver.setBacktracker(new ParallelBfsBacktracker<BoardTuple, Move>());
 		List<Move> moves = solver.solve();
-		Assert.assertTrue(moves.size() == 149);
+		Assert.assertTrue(moves.size() == 93);
 	}
 	
-	/**
-	 * A convenience method for writing to a file the DFS traversal graph of the Quzzle.
-	 * 
-	 * @throws IOException if an I/O exception occurs
-	 */
 	@Test
-	public void graphDfs_Quzzle_Written() throws IOException {
+	public void solveBidirectionalBfs_Quzzle_SolutionOf93MovesToTarget() throws IOException {
 		String startBoardString =
 				"0 0 1 1\n" +
 				"0 0 2 3\n" +
@@ -177,10 +462,948 @@ public class PuzzleSolverTest {
 		solver.setStart(startBoard);
 		solver.setTarget(targetBoard);
 		solver.setTargetPieceId(0);
-		solver.setBacktracker(new DfsBacktracker<BoardTuple, Move>());
-		File output = new File("quzzle_dfs_traversal.graphml");
-		solver.solve();
-		solver.getBacktracker().writeGraph(new GraphFormat(new BufferedWriter(new FileWriter(output))));
-		Assert.assertTrue(output.exists());
+		solver.setBacktracker(new BidirectionalBfsBacktracker<BoardTuple, Move>());
+		List<Move> moves = solver.solve();
+		List<Board> boards = PuzzleSolver.boards(startBoard, moves);
+		Assert.assertTrue(moves.size() == 93);
+		Assert.assertTrue(boards.get(boards.size() - 1).equalsShallowly(targetBoard));
+	}
+	
+	@Test
+	public void solveBidirectionalBfs_OpenBoardWithPartialTarget_ShortestSolution() throws IOException {
+		String startBoardString =
+				"0 . . .\n" +
+				". 1 1 .\n" +
+				". . . .\n" +
+				"2 . 3 3\n" +
+				". . . .\n";
+		String targetBoardString =
+				". . . .\n" +
+				". . . .\n" +
+				". . . .\n" +
+				". . . .\n" +
+				". . . 0\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		solver.setBacktracker(new BfsBacktracker<BoardTuple, Move>());
+		int shortestSize = solver.solve().size();
+		solver.setBacktracker(new BidirectionalBfsBacktracker<BoardTuple, Move>());
+		List<Move> moves = solver.solve();
+		Assert.assertTrue(moves.size() == shortestSize);
+		List<Board> boards = PuzzleSolver.boards(startBoard, moves);
+		Assert.assertTrue(boards.get(boards.size() - 1).equals(targetBoard, 0));
+	}
+	
+	@Test
+	public void solveBfsWithSymmetryReduction_QuzzleWithUnreachableSymmetricTarget_HalfTheVisits() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				". . . .\n" +
+				". . . .\n" +
+				". . . .\n" +
+				". 0 0 .\n" +
+				". 0 0 .\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		solver.setBacktracker(new BfsBacktracker<BoardTuple, Move>());
+		Assert.assertTrue(solver.solve() == null);
+		Assert.assertTrue(solver.getBacktracker().getVisitsCount() == 888);
+		solver.getBacktracker().setSymmetryReduction(true);
+		Assert.assertTrue(solver.solve() == null);
+		Assert.assertTrue(solver.getBacktracker().getVisitsCount() == 444);
+	}
+	
+	@Test
+	public void solveBfsWithSymmetryReduction_OpenBoard_ShortestSolutionWithFewerVisits() throws IOException {
+		String startBoardString =
+				"0 . . .\n" +
+				". 1 1 .\n" +
+				". . . .\n" +
+				"2 . 3 3\n" +
+				". . . .\n";
+		String targetBoardString =
+				". . . 0\n" +
+				". . . .\n" +
+				". . . .\n" +
+				". . . .\n" +
+				". 1 1 .\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(1);
+		BfsBacktracker<BoardTuple, Move> backtracker = new BfsBacktracker<BoardTuple, Move>();
+		solver.setBacktracker(backtracker);
+		int bfsSize = solver.solve().size();
+		int bfsVisitsCount = backtracker.getVisitsCount();
+		backtracker.setSymmetryReduction(true);
+		List<Move> moves = solver.solve();
+		Assert.assertTrue(moves.size() == bfsSize);
+		Assert.assertTrue(backtracker.getVisitsCount() < bfsVisitsCount);
+		List<Board> boards = PuzzleSolver.boards(startBoard, moves);
+		Assert.assertTrue(boards.get(boards.size() - 1).equals(targetBoard, 1));
+	}
+	
+	@Test
+	public void solveAStar_Quzzle_SolutionOf93Moves() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		solver.setBacktracker(new BfsBacktracker<BoardTuple, Move>());
+		solver.solve();
+		int bfsVisitsCount = solver.getBacktracker().getVisitsCount();
+		solver.setBacktracker(new AStarBacktracker<BoardTuple, Move>(new ManhattanHeuristic(solver)));
+		List<Move> moves = solver.solve();
+		Assert.assertTrue(moves.size() == 93);
+		Assert.assertTrue(solver.getBacktracker().getVisitsCount() <= bfsVisitsCount);
+	}
+	
+	@Test
+	public void solveAStar_OpenBoard_ShortestSolutionWithFewerVisitsThanBfs() throws IOException {
+		String startBoardString =
+				"0 . . .\n" +
+				". 1 1 .\n" +
+				". . . .\n" +
+				"2 . 3 3\n" +
+				". . . .\n";
+		String targetBoardString =
+				"1 1 . .\n" +
+				". . . .\n" +
+				". 2 . .\n" +
+				". 3 3 .\n" +
+				". . . 0\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		solver.setBacktracker(new BfsBacktracker<BoardTuple, Move>());
+		int bfsSize = solver.solve().size();
+		int bfsVisitsCount = solver.getBacktracker().getVisitsCount();
+		solver.setBacktracker(new AStarBacktracker<BoardTuple, Move>(new ManhattanHeuristic(solver)));
+		List<Move> moves = solver.solve();
+		Assert.assertTrue(moves.size() == bfsSize);
+		Assert.assertTrue(solver.getBacktracker().getVisitsCount() < bfsVisitsCount);
+	}
+	
+	/**
+	 * A convenience method for writing to a file the BFS traversal graph of the Quzzle.
+	 * 
+	 * @throws IOException if an I/O exception occurs
+	 */
+	@Test
+	public void graphBfs_Quzzle_Written() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		solver.setBacktracker(new BfsBacktracker<BoardTuple, Move>());
+		File output = new File("quzzle_bfs_traversal.graphml");
+		solver.solve();
+		solver.getBacktracker().writeGraph(new GraphFormat(new BufferedWriter(new FileWriter(output))));
+		Assert.assertTrue(output.exists());
+	}
+	
+	@Test
+	public void solveDfs_TargetPieceInSamePosition_SolutionOfSizeOne() throws IOException {
+		String startBoardString =
+				"1 1 2 2\n" +
+				"1 1 3 4\n" +
+				". . 3 4\n" +
+				"5 6 6 7\n" +
+				"5 8 8 0\n";
+		String targetBoardString =
+				"1 1 2 2\n" +
+				"1 1 3 4\n" +
+				". . 3 4\n" +
+				"5 6 6 0\n" +
+				". . . .\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(1);
+		solver.setBacktracker(new DfsBacktracker<BoardTuple, Move>());
+		List<Move> moves = solver.solve();
+		Assert.assertTrue(moves.isEmpty());
+	}
+	
+	@Test
+	public void solveDfs_Quzzle_SolutionOf149Moves() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		solver.setBacktracker(new DfsBacktracker<BoardTuple, Move>());
+		List<Move> moves = solver.solve();
+		Assert.assertTrue(moves.size() == 149);
+	}
+	
+	@Test
+	public void solveIddfs_TargetPieceInSamePosition_SolutionOfSizeOne() throws IOException {
+		String startBoardString =
+				"1 1 2 2\n" +
+				"1 1 3 4\n" +
+				". . 3 4\n" +
+				"5 6 6 7\n" +
+				"5 8 8 0\n";
+		String targetBoardString =
+				"1 1 2 2\n" +
+				"1 1 3 4\n" +
+				". . 3 4\n" +
+				"5 6 6 0\n" +
+				". . . .\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(1);
+		solver.setBacktracker(new IddfsBacktracker<BoardTuple, Move>());
+		List<Move> moves = solver.solve();
+		Assert.assertTrue(moves.isEmpty());
+	}
+	
+	@Test
+	public void solveIddfs_CompactPath_Exception() throws IOException {
+		Board board = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader("0 .\n")), 1, 2);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(board);
+		solver.setTarget(board);
+		solver.setTargetPieceId(0);
+		IddfsBacktracker<BoardTuple, Move> backtracker = new IddfsBacktracker<BoardTuple, Move>();
+		backtracker.setCompactPath(true);
+		solver.setBacktracker(backtracker);
+		expectedException.expect(IllegalStateException.class);
+		solver.solve();
+	}
+	
+	@Test
+	public void solveIddfs_OpenBoard_ShortestSolution() throws IOException {
+		String startBoardString =
+				"0 . . .\n" +
+				". 1 1 .\n" +
+				". . . .\n" +
+				"2 . 3 3\n" +
+				". . . .\n";
+		String targetBoardString =
+				"1 1 . .\n" +
+				". . . .\n" +
+				". 2 . .\n" +
+				". 3 3 .\n" +
+				". . . 0\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		solver.setBacktracker(new BfsBacktracker<BoardTuple, Move>());
+		int bfsSize = solver.solve().size();
+		IddfsBacktracker<BoardTuple, Move> backtracker = new IddfsBacktracker<BoardTuple, Move>();
+		backtracker.setTranspositionTableCapacity(10000);
+		solver.setBacktracker(backtracker);
+		List<Move> moves = solver.solve();
+		Assert.assertTrue(moves.size() == bfsSize);
+	}
+	
+	@Test
+	public void solveIdaStar_OpenBoard_ShortestSolution() throws IOException {
+		String startBoardString =
+				"0 . . .\n" +
+				". 1 1 .\n" +
+				". . . .\n" +
+				"2 . 3 3\n" +
+				". . . .\n";
+		String targetBoardString =
+				"1 1 . .\n" +
+				". . . .\n" +
+				". 2 . .\n" +
+				". 3 3 .\n" +
+				". . . 0\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		solver.setBacktracker(new BfsBacktracker<BoardTuple, Move>());
+		int bfsSize = solver.solve().size();
+		solver.setBacktracker(new IdaStarBacktracker<BoardTuple, Move>(new ManhattanHeuristic(solver)));
+		List<Move> moves = solver.solve();
+		Assert.assertTrue(moves.size() == bfsSize);
+	}
+	
+	@Test
+	public void solveInPlaceDfs_Quzzle_SolutionOf149Moves() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		InPlaceDfsBacktracker<Move> backtracker = new InPlaceDfsBacktracker<Move>();
+		backtracker.setStart(new BoardState(startBoard, solver));
+		List<Move> moves = backtracker.solve();
+		List<Board> boards = PuzzleSolver.boards(startBoard, moves);
+		Assert.assertTrue(moves.size() == 149);
+		Assert.assertTrue(boards.get(boards.size() - 1).equals(targetBoard, 0));
+	}
+	
+	@Test
+	public void solveInPlaceDfs_QuzzleWithinBudget_SearchResultWithStatistics() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		InPlaceDfsBacktracker<Move> backtracker = new InPlaceDfsBacktracker<Move>();
+		backtracker.setStart(new BoardState(startBoard, solver));
+		SearchResult<Move> result = backtracker.solve(new SearchBudget());
+		Assert.assertTrue(result.getTermination() == Termination.SOLVED);
+		Assert.assertTrue(result.getPath().size() == 149);
+		Assert.assertTrue(result.getMaxDepth() >= 149);
+		Assert.assertTrue(result.getGeneratedCount() == result.getVisitsCount() - 1 + result.getDuplicatesCount());
+		SearchBudget budget = new SearchBudget();
+		budget.setMaxVisits(100);
+		BoardState start = new BoardState(startBoard, solver);
+		backtracker.setStart(start);
+		result = backtracker.solve(budget);
+		Assert.assertTrue(result.getTermination() == Termination.MAX_VISITS);
+		Assert.assertTrue(result.getVisitsCount() == 100);
+		Assert.assertTrue(result.getPath() == null);
+		Assert.assertTrue(start.getBoard().equals(startBoard));
+	}
+	
+	/**
+	 * A convenience method for writing to a file the DFS traversal graph of the Quzzle.
+	 * 
+	 * @throws IOException if an I/O exception occurs
+	 */
+	@Test
+	public void graphDfs_Quzzle_Written() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		solver.setBacktracker(new DfsBacktracker<BoardTuple, Move>());
+		File output = new File("quzzle_dfs_traversal.graphml");
+		solver.solve();
+		solver.getBacktracker().writeGraph(new GraphFormat(new BufferedWriter(new FileWriter(output))));
+		Assert.assertTrue(output.exists());
+	}
+	
+	@Test
+	public void solveBfs_QuzzleWithinBudget_SolvedWith93Moves() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		BfsBacktracker<BoardTuple, Move> backtracker = new BfsBacktracker<BoardTuple, Move>();
+		backtracker.setStart(new BoardTuple(startBoard, solver));
+		SearchResult<Move> result = backtracker.solve(new SearchBudget());
+		Assert.assertTrue(result.getTermination() == Termination.SOLVED);
+		Assert.assertTrue(result.getPath().size() == 93);
+	}
+	
+	@Test
+	public void solveBfs_Quzzle_SearchResultWithStatistics() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		BfsBacktracker<BoardTuple, Move> backtracker = new BfsBacktracker<BoardTuple, Move>();
+		backtracker.setStart(new BoardTuple(startBoard, solver));
+		backtracker.solve();
+		SearchResult<Move> result = backtracker.getSearchResult();
+		Assert.assertTrue(result.getTermination() == Termination.SOLVED);
+		Assert.assertTrue(result.getPath().size() == 93);
+		Assert.assertTrue(result.getVisitsCount() == 881);
+		Assert.assertTrue(result.getMaxDepth() == 93);
+		Assert.assertTrue(result.getGeneratedCount() >= result.getVisitsCount() + result.getDuplicatesCount());
+		Assert.assertTrue(result.getDuplicatesCount() > 0);
+		Assert.assertTrue(result.getPeakFrontierSize() > 0);
+		Assert.assertTrue(result.getElapsedNanos() > 0);
+	}
+	
+	@Test
+	public void solveBfs_QuzzleWithCountingListener_EventsCounted() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		BfsBacktracker<BoardTuple, Move> backtracker = new BfsBacktracker<BoardTuple, Move>();
+		backtracker.setStart(new BoardTuple(startBoard, solver));
+		CountingSearchListener<Move> listener = new CountingSearchListener<Move>();
+		backtracker.setListener(listener);
+		backtracker.setProgressInterval(100);
+		backtracker.solve();
+		SearchResult<Move> result = backtracker.getSearchResult();
+		Assert.assertTrue(listener.getVisits().sum() == 881);
+		Assert.assertTrue(listener.getSolutions().sum() == 1);
+		Assert.assertTrue(listener.getExpansions().sum() == 880);
+		Assert.assertTrue(listener.getExtensions().sum() == result.getGeneratedCount() - 1);
+		Assert.assertTrue(listener.getDuplicates().sum() == result.getDuplicatesCount());
+		Assert.assertTrue(listener.getFrontierSize() > 0);
+	}
+	
+	@Test
+	public void solveBfs_QuzzleWithCountingListenerAndFingerprints_DuplicatesCounted() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		BfsBacktracker<BoardTuple, Move> backtracker = new BfsBacktracker<BoardTuple, Move>();
+		backtracker.setStart(new BoardTuple(startBoard, solver));
+		backtracker.setVisitedSet(new FingerprintVisitedSet<Move>());
+		CountingSearchListener<Move> listener = new CountingSearchListener<Move>();
+		backtracker.setListener(listener);
+		backtracker.solve();
+		SearchResult<Move> result = backtracker.getSearchResult();
+		Assert.assertTrue(listener.getVisits().sum() == 881);
+		Assert.assertTrue(result.getDuplicatesCount() > 0);
+		Assert.assertTrue(listener.getDuplicates().sum() == result.getDuplicatesCount());
+	}
+	
+	@Test
+	public void solveBfs_QuzzleWithUnreachableTargetWithinBudget_Exhausted() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				". . . .\n" +
+				". . . .\n" +
+				". . . .\n" +
+				". 0 0 .\n" +
+				". 0 0 .\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		BfsBacktracker<BoardTuple, Move> backtracker = new BfsBacktracker<BoardTuple, Move>();
+		backtracker.setStart(new BoardTuple(startBoard, solver));
+		SearchResult<Move> result = backtracker.solve(new SearchBudget());
+		Assert.assertTrue(result.getTermination() == Termination.EXHAUSTED);
+		Assert.assertTrue(result.getPath() == null);
+		Assert.assertTrue(backtracker.getVisitsCount() == 888);
+	}
+	
+	@Test
+	public void solveBfs_QuzzleWithBudgetMaxVisits_MaxVisits() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		BfsBacktracker<BoardTuple, Move> backtracker = new BfsBacktracker<BoardTuple, Move>();
+		backtracker.setStart(new BoardTuple(startBoard, solver));
+		SearchBudget budget = new SearchBudget();
+		budget.setMaxVisits(100);
+		SearchResult<Move> result = backtracker.solve(budget);
+		Assert.assertTrue(result.getTermination() == Termination.MAX_VISITS);
+		Assert.assertTrue(result.getPath() == null);
+		Assert.assertTrue(backtracker.getVisitsCount() == 100);
+	}
+	
+	@Test
+	public void solveBfs_QuzzleWithPastDeadline_Deadline() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		BfsBacktracker<BoardTuple, Move> backtracker = new BfsBacktracker<BoardTuple, Move>();
+		backtracker.setStart(new BoardTuple(startBoard, solver));
+		SearchBudget budget = new SearchBudget();
+		budget.setTimeout(0, TimeUnit.NANOSECONDS);
+		SearchResult<Move> result = backtracker.solve(budget);
+		Assert.assertTrue(result.getTermination() == Termination.DEADLINE);
+		Assert.assertTrue(result.getPath() == null);
+	}
+	
+	@Test
+	public void solveBfs_QuzzleWithCancelledBudget_Cancelled() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		BfsBacktracker<BoardTuple, Move> backtracker = new BfsBacktracker<BoardTuple, Move>();
+		backtracker.setStart(new BoardTuple(startBoard, solver));
+		SearchBudget budget = new SearchBudget();
+		budget.cancel();
+		SearchResult<Move> result = backtracker.solve(budget);
+		Assert.assertTrue(result.getTermination() == Termination.CANCELLED);
+		Assert.assertTrue(backtracker.getVisitsCount() == 0);
+	}
+	
+	@Test
+	public void solveAllWithService_QuzzlesAndOpenBoards_AllSolved() throws Exception {
+		String quzzleStartBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String quzzleTargetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		String openStartBoardString =
+				"0 . . .\n" +
+				". 1 1 .\n" +
+				". . . .\n" +
+				"2 . 3 3\n" +
+				". . . .\n";
+		String openTargetBoardString =
+				"1 1 . .\n" +
+				". . . .\n" +
+				". 2 . .\n" +
+				". 3 3 .\n" +
+				". . . 0\n";
+		Board quzzleStartBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(quzzleStartBoardString)), 5, 4);
+		Board quzzleTargetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(quzzleTargetBoardString)), 5, 4);
+		Board openStartBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(openStartBoardString)), 5, 4);
+		Board openTargetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(openTargetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(openStartBoard);
+		solver.setTarget(openTargetBoard);
+		solver.setTargetPieceId(0);
+		solver.setBacktracker(new BfsBacktracker<BoardTuple, Move>());
+		int openSize = solver.solve().size();
+		List<Puzzle> puzzles = new ArrayList<Puzzle>();
+		for (int i = 0; i < 16; i++) {
+			puzzles.add(i % 2 == 0 ? new Puzzle(quzzleStartBoard, quzzleTargetBoard, 0) : new Puzzle(openStartBoard, openTargetBoard, 0));
+		}
+		PuzzleSolverService service = new PuzzleSolverService(4);
+		List<SearchResult<Move>> results = service.solveAll(puzzles);
+		service.close();
+		for (int i = 0; i < puzzles.size(); i++) {
+			Assert.assertTrue(results.get(i).isSolved());
+			Assert.assertTrue(results.get(i).getPath().size() == (i % 2 == 0 ? 93 : openSize));
+		}
+	}
+	
+	@Test
+	public void solveAStarWithPatternDatabase_Quzzle_SolutionOf93MovesWithFewerVisitsThanBfs() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		PatternDatabase database = PatternDatabase.build(solver, 1, 2, 3, 5);
+		solver.setBacktracker(new AStarBacktracker<BoardTuple, Move>(new PatternDatabaseHeuristic(solver, database)));
+		List<Move> moves = solver.solve();
+		List<Board> boards = PuzzleSolver.boards(startBoard, moves);
+		Assert.assertTrue(moves.size() == 93);
+		Assert.assertTrue(solver.getBacktracker().getVisitsCount() < 881);
+		Assert.assertTrue(database.distance(startBoard) > 0);
+		Assert.assertTrue(database.distance(boards.get(boards.size() - 1)) == 0);
+	}
+	
+	@Test
+	public void solveAStarWithPatternDatabase_OpenBoardWithAllPieces_ShortestSolutionAlongPath() throws IOException {
+		String startBoardString =
+				"0 . . .\n" +
+				". 1 1 .\n" +
+				". . . .\n" +
+				"2 . 3 3\n" +
+				". . . .\n";
+		String targetBoardString =
+				"1 1 . .\n" +
+				". . . .\n" +
+				". 2 . .\n" +
+				". 3 3 .\n" +
+				". . . 0\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		solver.setBacktracker(new BfsBacktracker<BoardTuple, Move>());
+		int bfsSize = solver.solve().size();
+		PatternDatabase database = PatternDatabase.build(solver, 1, 2, 3);
+		solver.setBacktracker(new AStarBacktracker<BoardTuple, Move>(new PatternDatabaseHeuristic(solver, database)));
+		List<Move> moves = solver.solve();
+		Assert.assertTrue(moves.size() == bfsSize);
+		Assert.assertTrue(database.distance(startBoard) == bfsSize);
+		Assert.assertTrue(solver.getBacktracker().getVisitsCount() == bfsSize + 1);
+	}
+	
+	@Test
+	public void load_WrittenPatternDatabase_SameDistances() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		PatternDatabase database = PatternDatabase.build(solver, 1, 2, 3);
+		File file = File.createTempFile("pattern", ".pdb");
+		try {
+			database.write(file);
+			PatternDatabase loadedDatabase = PatternDatabase.load(file);
+			solver.setBacktracker(new BfsBacktracker<BoardTuple, Move>());
+			List<Board> boards = PuzzleSolver.boards(startBoard, solver.solve());
+			Assert.assertTrue(loadedDatabase.size() == database.size());
+			Assert.assertTrue(loadedDatabase.matches(solver));
+			for (Board board : boards) {
+				Assert.assertTrue(loadedDatabase.distance(board) == database.distance(board));
+			}
+		} finally {
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void patternDatabaseHeuristic_OtherTargetPiece_Exception() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		PatternDatabase database = PatternDatabase.build(solver, 1, 2, 3);
+		solver.setTargetPieceId(1);
+		expectedException.expect(IllegalArgumentException.class);
+		new PatternDatabaseHeuristic(solver, database);
+	}
+	
+	@Test
+	public void solveIddfsWithinBudget_OpenBoard_SolvedWithShortestSolution() throws IOException {
+		String startBoardString =
+				"0 . . .\n" +
+				". 1 1 .\n" +
+				". . . .\n" +
+				"2 . 3 3\n" +
+				". . . .\n";
+		String targetBoardString =
+				"1 1 . .\n" +
+				". . . .\n" +
+				". 2 . .\n" +
+				". 3 3 .\n" +
+				". . . 0\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		solver.setBacktracker(new BfsBacktracker<BoardTuple, Move>());
+		int shortestSize = solver.solve().size();
+		solver.setBacktracker(new IddfsBacktracker<BoardTuple, Move>());
+		SearchResult<Move> result = solver.solve(new SearchBudget());
+		Assert.assertTrue(result.getTermination() == Termination.SOLVED);
+		Assert.assertTrue(result.getPath().size() == shortestSize);
+	}
+	
+	@Test
+	public void solveWithPastDeadline_BacktrackersWithTraversalOfTheirOwn_Deadline() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		List<Backtracker<BoardTuple, Move>> backtrackers = new ArrayList<Backtracker<BoardTuple, Move>>();
+		backtrackers.add(new IddfsBacktracker<BoardTuple, Move>());
+		backtrackers.add(new ParallelBfsBacktracker<BoardTuple, Move>());
+		backtrackers.add(new ExternalBfsBacktracker<BoardTuple, Move>(new BoardTupleCodec(solver)));
+		backtrackers.add(new BidirectionalBfsBacktracker<BoardTuple, Move>());
+		for (Backtracker<BoardTuple, Move> backtracker : backtrackers) {
+			solver.setBacktracker(backtracker);
+			SearchBudget budget = new SearchBudget();
+			budget.setTimeout(0, TimeUnit.NANOSECONDS);
+			SearchResult<Move> result = solver.solve(budget);
+			Assert.assertTrue(!backtracker.isQueueTraversal());
+			Assert.assertTrue(result.getTermination() == Termination.DEADLINE);
+			Assert.assertTrue(result.getPath() == null);
+		}
+	}
+	
+	@Test
+	public void solveIddfs_QuzzleWithCancelledBudget_Cancelled() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		IddfsBacktracker<BoardTuple, Move> backtracker = new IddfsBacktracker<BoardTuple, Move>();
+		backtracker.setStart(new BoardTuple(startBoard, solver));
+		SearchBudget budget = new SearchBudget();
+		budget.cancel();
+		SearchResult<Move> result = backtracker.solve(budget);
+		Assert.assertTrue(result.getTermination() == Termination.CANCELLED);
+		Assert.assertTrue(backtracker.getVisitsCount() == 0);
+	}
+	
+	@Test
+	public void submitToService_Closed_Exception() throws IOException {
+		Board board = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader("0 .\n")), 1, 2);
+		PuzzleSolverService service = new PuzzleSolverService(1);
+		service.close();
+		expectedException.expect(RejectedExecutionException.class);
+		service.submit(new Puzzle(board, board, 0));
 	}
 }
@@ -0,0 +1,181 @@
+package backtrack.example.puzzle;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import backtrack.BfsBacktracker;
+import backtrack.DfsBacktracker;
+import backtrack.SearchBudget;
+import backtrack.Termination;
+import backtrack.example.puzzle.core.Board;
+import backtrack.example.puzzle.core.Move;
+import backtrack.example.puzzle.core.Move.Direction;
+import backtrack.example.puzzle.util.StandardFormatUtils;
+
+public class SolutionCacheTest {
+
+	private static final String STRATEGY = "BFS";
+	
+	@Test
+	public void solve_QuzzleWithRenumberedPieces_CachedSolutionRenumbered() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String renumberedStartBoardString =
+				"0 0 8 8\n" +
+				"0 0 3 1\n" +
+				". . 3 1\n" +
+				"5 2 2 7\n" +
+				"5 6 6 4\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board renumberedStartBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(renumberedStartBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		SolutionCache cache = new SolutionCache(16, 1024);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		solver.setBacktracker(new BfsBacktracker<BoardTuple, Move>());
+		solver.setSolutionCache(cache);
+		solver.solve();
+		solver.setStart(renumberedStartBoard);
+		List<Move> moves = solver.solve();
+		List<Board> boards = PuzzleSolver.boards(renumberedStartBoard, moves);
+		Assert.assertTrue(cache.getHitsCount() == 1);
+		Assert.assertTrue(cache.getMissesCount() == 1);
+		Assert.assertTrue(moves.size() == 93);
+		Assert.assertTrue(boards.get(boards.size() - 1).equals(targetBoard, 0));
+	}
+	
+	@Test
+	public void solve_QuzzleWithDfsThenBfs_SolutionOfEachStrategy() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		SolutionCache cache = new SolutionCache(16, 1024);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		solver.setSolutionCache(cache);
+		solver.setBacktracker(new DfsBacktracker<BoardTuple, Move>());
+		Assert.assertTrue(solver.solve().size() == 149);
+		solver.setBacktracker(new BfsBacktracker<BoardTuple, Move>());
+		Assert.assertTrue(solver.solve().size() == 93);
+		Assert.assertTrue(cache.getHitsCount() == 0);
+		Assert.assertTrue(cache.size() == 2);
+	}
+	
+	@Test
+	public void solve_QuzzleWithBudgetThenOtherMaxVisits_OnlySolutionsOfSameSettingsCached() throws IOException {
+		String startBoardString =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String targetBoardString =
+				"1 1 0 0\n" +
+				"3 2 0 0\n" +
+				"3 2 . .\n" +
+				"6 5 5 4\n" +
+				"8 7 7 4\n";
+		Board startBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(startBoardString)), 5, 4);
+		Board targetBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(targetBoardString)), 5, 4);
+		SolutionCache cache = new SolutionCache(16, 1024);
+		PuzzleSolver solver = new PuzzleSolver();
+		solver.setStart(startBoard);
+		solver.setTarget(targetBoard);
+		solver.setTargetPieceId(0);
+		solver.setSolutionCache(cache);
+		BfsBacktracker<BoardTuple, Move> backtracker = new BfsBacktracker<BoardTuple, Move>();
+		solver.setBacktracker(backtracker);
+		SearchBudget budget = new SearchBudget();
+		budget.setMaxVisits(100);
+		Assert.assertTrue(solver.solve(budget).getTermination() == Termination.MAX_VISITS);
+		Assert.assertTrue(cache.size() == 0);
+		Assert.assertTrue(solver.solve().size() == 93);
+		Assert.assertTrue(cache.size() == 1);
+		backtracker.setMaxVisits(backtracker.getMaxVisits() + 1);
+		Assert.assertTrue(solver.solve().size() == 93);
+		Assert.assertTrue(cache.getHitsCount() == 0);
+		Assert.assertTrue(cache.size() == 2);
+	}
+	
+	@Test
+	public void get_OtherTargetLayout_Null() throws IOException {
+		Board board = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(". 0 1 .\n")), 1, 4);
+		Board otherBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(". 0 . 1\n")), 1, 4);
+		SolutionCache cache = new SolutionCache(16, 1024);
+		cache.put(board, board, 0, STRATEGY, Arrays.asList(new Move(0, Direction.LEFT, 1)));
+		Assert.assertTrue(cache.get(board, board, 0, STRATEGY) != null);
+		Assert.assertTrue(cache.get(board, otherBoard, 0, STRATEGY) == null);
+	}
+	
+	@Test
+	public void get_OtherTargetPiece_Null() throws IOException {
+		Board board = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(". 0 1 .\n")), 1, 4);
+		SolutionCache cache = new SolutionCache(16, 1024);
+		cache.put(board, board, 0, STRATEGY, Arrays.asList(new Move(0, Direction.LEFT, 1)));
+		Assert.assertTrue(cache.get(board, board, 0, STRATEGY) != null);
+		Assert.assertTrue(cache.get(board, board, 1, STRATEGY) == null);
+	}
+	
+	@Test
+	public void put_MoreThanMaxSize_LeastRecentlyUsedEvicted() throws IOException {
+		Board firstBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader("0 . .\n")), 1, 3);
+		Board secondBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(". 0 .\n")), 1, 3);
+		Board thirdBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(". . 0\n")), 1, 3);
+		List<Move> solution = Arrays.asList(new Move(0, Direction.RIGHT, 1));
+		SolutionCache cache = new SolutionCache(2, 1024);
+		cache.put(firstBoard, thirdBoard, 0, STRATEGY, solution);
+		cache.put(secondBoard, thirdBoard, 0, STRATEGY, solution);
+		cache.get(firstBoard, thirdBoard, 0, STRATEGY);
+		cache.put(thirdBoard, thirdBoard, 0, STRATEGY, solution);
+		Assert.assertTrue(cache.size() == 2);
+		Assert.assertTrue(cache.get(firstBoard, thirdBoard, 0, STRATEGY) != null);
+		Assert.assertTrue(cache.get(secondBoard, thirdBoard, 0, STRATEGY) == null);
+		Assert.assertTrue(cache.get(thirdBoard, thirdBoard, 0, STRATEGY) != null);
+	}
+	
+	@Test
+	public void put_MoreThanMaxWeight_Evicted() throws IOException {
+		Board firstBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader("0 . .\n")), 1, 3);
+		Board secondBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(". 0 .\n")), 1, 3);
+		Board thirdBoard = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(". . 0\n")), 1, 3);
+		SolutionCache cache = new SolutionCache(16, 2);
+		cache.put(firstBoard, thirdBoard, 0, STRATEGY, Arrays.asList(new Move(0, Direction.RIGHT, 1), new Move(0, Direction.RIGHT, 1)));
+		cache.put(secondBoard, thirdBoard, 0, STRATEGY, Arrays.asList(new Move(0, Direction.RIGHT, 1)));
+		cache.put(thirdBoard, thirdBoard, 0, STRATEGY, Arrays.asList(new Move(0, Direction.RIGHT, 1), new Move(0, Direction.LEFT, 1),
+				new Move(0, Direction.RIGHT, 1)));
+		Assert.assertTrue(cache.size() == 1);
+		Assert.assertTrue(cache.getWeight() == 1);
+		Assert.assertTrue(cache.get(secondBoard, thirdBoard, 0, STRATEGY) != null);
+	}
+}
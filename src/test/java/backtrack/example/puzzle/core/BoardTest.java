@@ -3,7 +3,9 @@ package backtrack.example.puzzle.core;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.Assert;
@@ -99,6 +101,109 @@ public class BoardTest {
 		Assert.assertTrue(moves.equals(expected));
 	}
 	
+	@Test
+	public void moves_BoardOf64Cells_Returned() {
+		Board board = new Board(8, 8, 3);
+		board.place(new Piece(0, 2, 2), new Position(6, 6));
+		board.place(new Piece(1, 1, 1), new Position(0, 0));
+		board.place(new Piece(2, 1, 1), new Position(3, 6));
+		Set<Move> expected = new HashSet<Move>();
+		for (int cells = 1; cells <= 2; cells++) {
+			expected.add(new Move(0, Direction.UP, cells));
+		}
+		for (int cells = 1; cells <= 6; cells++) {
+			expected.add(new Move(0, Direction.LEFT, cells));
+		}
+		for (int cells = 1; cells <= 7; cells++) {
+			expected.add(new Move(1, Direction.DOWN, cells));
+			expected.add(new Move(1, Direction.RIGHT, cells));
+		}
+		for (int cells = 1; cells <= 3; cells++) {
+			expected.add(new Move(2, Direction.UP, cells));
+		}
+		for (int cells = 1; cells <= 6; cells++) {
+			expected.add(new Move(2, Direction.LEFT, cells));
+		}
+		expected.add(new Move(2, Direction.DOWN, 1));
+		expected.add(new Move(2, Direction.DOWN, 2));
+		expected.add(new Move(2, Direction.RIGHT, 1));
+		Set<Move> moves = new HashSet<Move>(board.moves());
+		Assert.assertTrue(moves.equals(expected));
+	}
+	
+	@Test
+	public void moves_BoardOfMoreThan64Cells_Returned() {
+		Board board = new Board(9, 8, 2);
+		board.place(new Piece(0, 2, 2), new Position(7, 6));
+		board.place(new Piece(1, 1, 2), new Position(4, 6));
+		Set<Move> expected = new HashSet<Move>();
+		expected.add(new Move(0, Direction.UP, 1));
+		expected.add(new Move(0, Direction.UP, 2));
+		for (int cells = 1; cells <= 6; cells++) {
+			expected.add(new Move(0, Direction.LEFT, cells));
+			expected.add(new Move(1, Direction.LEFT, cells));
+		}
+		for (int cells = 1; cells <= 4; cells++) {
+			expected.add(new Move(1, Direction.UP, cells));
+		}
+		expected.add(new Move(1, Direction.DOWN, 1));
+		expected.add(new Move(1, Direction.DOWN, 2));
+		Set<Move> moves = new HashSet<Move>(board.moves());
+		Assert.assertTrue(moves.equals(expected));
+		board.apply(new Move(1, Direction.DOWN, 2));
+		expectedException.expect(IllegalArgumentException.class);
+		board.apply(new Move(0, Direction.UP, 1));
+	}
+	
+	@Test
+	public void apply_MoveWithTooManyCells_ThrowsException() throws IOException {
+		String boardString =
+				"0 .\n" +
+				". 1\n";
+		Board board = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(boardString)), 2, 2);
+		expectedException.expect(IllegalArgumentException.class);
+		board.apply(new Move(0, Direction.UP, 4097));
+	}
+	
+	@Test
+	public void apply_MoveWithTooLargePieceId_ThrowsException() throws IOException {
+		String boardString =
+				"0 .\n" +
+				". 1\n";
+		Board board = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(boardString)), 2, 2);
+		expectedException.expect(IllegalArgumentException.class);
+		board.apply(new Move((1 << 18) + 1, Direction.UP, 1));
+	}
+	
+	@Test
+	public void apply_MoveWithNullDirection_ThrowsException() throws IOException {
+		String boardString =
+				"0 .\n" +
+				". 1\n";
+		Board board = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(boardString)), 2, 2);
+		expectedException.expect(IllegalArgumentException.class);
+		board.apply(new Move(0, null, 1));
+	}
+	
+		@Test
+	public void moves_Codes_EqualToMoves() throws IOException {
+		String boardString =
+				"0 . . 1\n" +
+				"3 . . .\n" +
+				". 2 2 .\n" +
+				"4 2 2 6\n" +
+				"4 5 5 7\n";
+		Board board = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(boardString)), 5, 4);
+		List<Move> moves = board.moves();
+		int[] codes = new int[board.maxMovesCount()];
+		int count = board.moves(codes);
+		Assert.assertTrue(count == moves.size());
+		for (int i = 0; i < count; i++) {
+			Assert.assertTrue(moves.get(i).encode() == codes[i]);
+			Assert.assertTrue(moves.get(i).equals(Move.decode(codes[i])));
+		}
+	}
+	
 	@Test
 	public void move_OneCellMove_Applied() throws IOException {
 		String boardString1 =
@@ -162,6 +267,32 @@ public class BoardTest {
 		Assert.assertTrue(board1.equals(board2));
 	}
 	
+	@Test
+	public void move_BlockedMove_Exception() throws IOException {
+		String boardString =
+				"1 1 2 2\n" +
+				"1 1 3 4\n" +
+				"5 9 3 4\n" +
+				"5 6 6 7\n" +
+				". . 8 0\n";
+		Board board = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(boardString)), 5, 4);
+		expectedException.expect(IllegalArgumentException.class);
+		board.apply(new Move(9, Direction.DOWN, 1));
+	}
+	
+	@Test
+	public void move_OutsideOfBoard_Exception() throws IOException {
+		String boardString =
+				"1 1 2 2\n" +
+				"1 1 3 4\n" +
+				"5 9 3 4\n" +
+				"5 6 6 7\n" +
+				"8 . . 0\n";
+		Board board = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(boardString)), 5, 4);
+		expectedException.expect(IllegalArgumentException.class);
+		board.apply(new Move(8, Direction.DOWN, 1));
+	}
+	
 	@Test
 	public void strict_BoardsWithEqualPiecesEqualIds_Equal() throws IOException {
 		String boardString1 =
@@ -316,6 +447,166 @@ public class BoardTest {
 		Assert.assertTrue(board1.shallowHashCode() == board2.shallowHashCode());
 	}
 	
+	@Test
+	public void zobristHash_MovedBoard_EqualToParsedBoard() throws IOException {
+		String boardString1 =
+				"1 1 2 2\n" +
+				"1 1 3 4\n" +
+				"5 9 3 4\n" +
+				"5 6 6 7\n" +
+				". . 8 0\n";
+		String boardString2 =
+				"1 1 2 2\n" +
+				"1 1 3 4\n" +
+				"5 9 3 4\n" +
+				"5 6 6 7\n" +
+				"8 . . 0\n";
+		Board board1 = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(boardString1)), 5, 4);
+		Board board2 = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(boardString2)), 5, 4);
+		Move move = new Move(8, Direction.LEFT, 2);
+		long shallowZobristHash = board1.shallowZobristHash(move.encode());
+		board1.apply(move);
+		Assert.assertTrue(board1.strictZobristHash() == board2.strictZobristHash());
+		Assert.assertTrue(board1.shallowZobristHash() == board2.shallowZobristHash());
+		Assert.assertTrue(shallowZobristHash == board2.shallowZobristHash());
+	}
+	
+	@Test
+	public void encodeShallow_ShallowlyEqualBoards_EqualEncodings() throws IOException {
+		String boardString1 =
+				"1 1 2 2\n" +
+				"1 1 3 4\n" +
+				". . 3 4\n" +
+				"5 6 6 7\n" +
+				"5 8 8 0\n";
+		String boardString2 =
+				"0 0 2 2\n" +
+				"0 0 4 3\n" +
+				". . 4 3\n" +
+				"5 8 8 7\n" +
+				"5 6 6 1\n";
+		Board board1 = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(boardString1)), 5, 4);
+		Board board2 = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(boardString2)), 5, 4);
+		Assert.assertTrue(board1.encodeShallow().length == 1);
+		Assert.assertTrue(Arrays.equals(board1.encodeShallow(), board2.encodeShallow()));
+	}
+	
+	@Test
+	public void encodeShallow_NotShallowlyEqualBoards_NotEqualEncodings() throws IOException {
+		String boardString1 =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String boardString2 =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				"4 . 2 3\n" +
+				"4 5 5 6\n" +
+				". 7 7 8\n";
+		Board board1 = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(boardString1)), 5, 4);
+		Board board2 = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(boardString2)), 5, 4);
+		Assert.assertTrue(!Arrays.equals(board1.encodeShallow(), board2.encodeShallow()));
+	}
+	
+	@Test
+	public void encodeShallow_Move_EqualToEncodingAfterMove() throws IOException {
+		String boardString =
+				"1 1 2 2\n" +
+				"1 1 3 4\n" +
+				"5 9 3 4\n" +
+				"5 6 6 7\n" +
+				". . 8 0\n";
+		Board board = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(boardString)), 5, 4);
+		Move move = new Move(8, Direction.LEFT, 2);
+		long[] encoding = board.encodeShallow(board.encodeShallow(), move.encode());
+		board.apply(move);
+		Assert.assertTrue(Arrays.equals(board.encodeShallow(), encoding));
+	}
+	
+	@Test
+	public void encodeShallow_MoveIntoEncoding_EqualToEncodingAfterMove() throws IOException {
+		String boardString =
+				"1 1 2 2\n" +
+				"1 1 3 4\n" +
+				"5 9 3 4\n" +
+				"5 6 6 7\n" +
+				". . 8 0\n";
+		Board board = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(boardString)), 5, 4);
+		Move move = new Move(8, Direction.LEFT, 2);
+		long[] encoding = board.encodeShallow();
+		Assert.assertTrue(board.encodeShallow(encoding, move.encode(), encoding) == encoding);
+		board.apply(move);
+		Assert.assertTrue(Arrays.equals(board.encodeShallow(), encoding));
+	}
+	
+	@Test
+	public void decodeShallow_Encoding_ShallowlyEqualBoard() throws IOException {
+		String boardString1 =
+				"1 1 2 2\n" +
+				"1 1 3 4\n" +
+				". . 3 4\n" +
+				"5 6 6 7\n" +
+				"5 8 8 0\n";
+		String boardString2 =
+				"0 0 2 2\n" +
+				"0 0 4 3\n" +
+				". . 4 3\n" +
+				"5 8 8 7\n" +
+				"5 6 6 1\n";
+		Board board1 = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(boardString1)), 5, 4);
+		Board board2 = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(boardString2)), 5, 4);
+		Board decoded = board1.decodeShallow(board2.encodeShallow(), 0);
+		Assert.assertTrue(decoded.equalsShallowly(board2));
+		Assert.assertTrue(Arrays.equals(decoded.encodeShallow(), board2.encodeShallow()));
+		Assert.assertTrue(decoded.shallowZobristHash() == board2.shallowZobristHash());
+		Assert.assertTrue(decoded.moves().size() == board2.moves().size());
+	}
+	
+	@Test
+	public void decodeShallow_EncodingWithPieceCell_PieceAtCell() throws IOException {
+		String boardString1 =
+				"1 1 2 2\n" +
+				"1 1 3 4\n" +
+				". . 3 4\n" +
+				"5 6 6 7\n" +
+				"5 8 8 0\n";
+		String boardString2 =
+				"0 0 2 2\n" +
+				"0 0 4 3\n" +
+				". . 4 3\n" +
+				"5 8 8 7\n" +
+				"5 6 6 1\n";
+		Board board1 = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(boardString1)), 5, 4);
+		Board board2 = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(boardString2)), 5, 4);
+		Board decoded = board1.decodeShallow(board2.encodeShallow(), 0, 0, 19);
+		Assert.assertTrue(decoded.equalsShallowly(board2));
+		Assert.assertTrue(decoded.positionOf(decoded.getPiece(0)).equals(new Position(4, 3)));
+		expectedException.expect(IllegalArgumentException.class);
+		board1.decodeShallow(board2.encodeShallow(), 0, 0, 18);
+	}
+	
+	@Test
+	public void decodeShallow_MissingPiece_Exception() throws IOException {
+		String boardString1 =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 8\n";
+		String boardString2 =
+				"0 0 1 1\n" +
+				"0 0 2 3\n" +
+				". . 2 3\n" +
+				"4 5 5 6\n" +
+				"4 7 7 .\n";
+		Board board1 = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(boardString1)), 5, 4);
+		Board board2 = StandardFormatUtils.parseBoard(new BufferedReader(new StringReader(boardString2)), 5, 4);
+		expectedException.expect(IllegalArgumentException.class);
+		board1.decodeShallow(board2.encodeShallow(), 0);
+	}
+	
 	@Test
 	public void equals_EqualBoardsByPieceId_Equal() throws IOException {
 		String boardString1 =